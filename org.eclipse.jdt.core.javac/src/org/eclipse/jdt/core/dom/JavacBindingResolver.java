@@ -18,18 +18,23 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.type.ExecutableType;
 import javax.lang.model.type.TypeKind;
+import javax.tools.JavaFileManager;
 
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.jdt.core.IJavaProject;
@@ -86,6 +91,7 @@ import com.sun.tools.javac.code.TypeMetadata.Annotations;
 import com.sun.tools.javac.code.TypeTag;
 import com.sun.tools.javac.code.Types;
 import com.sun.tools.javac.comp.Modules;
+import com.sun.tools.javac.file.BaseFileManager;
 import com.sun.tools.javac.tree.JCTree;
 import com.sun.tools.javac.tree.JCTree.JCAnnotatedType;
 import com.sun.tools.javac.tree.JCTree.JCAnnotation;
@@ -174,13 +180,62 @@ public class JavacBindingResolver extends BindingResolver {
 		public JavacMethodBinding getMethodBinding(ExecutableType methodType, MethodSymbol methodSymbol,
 				com.sun.tools.javac.code.Type parentType, boolean isDeclaration,
 				List<com.sun.tools.javac.code.Type> resolvedTypeArgs) {
+			JavacMethodBinding known = findCanonicalMethodBinding(methodType, methodSymbol, parentType, false, isDeclaration, resolvedTypeArgs);
+			if (known != null) {
+				return known;
+			}
 			JavacMethodBinding newInstance = new JavacMethodBinding(methodType, methodSymbol, parentType, JavacBindingResolver.this, false, isDeclaration, resolvedTypeArgs) { };
-			return insertAndReturn(newInstance);
+			return rememberCanonicalMethodBinding(methodType, methodSymbol, parentType, false, isDeclaration, resolvedTypeArgs, insertAndReturn(newInstance));
 		}
 		public JavacMethodBinding getSyntheticMethodBinding(ExecutableType methodType, MethodSymbol methodSymbol,
 				com.sun.tools.javac.code.Type parentType, List<com.sun.tools.javac.code.Type> resolvedTypeArgs) {
+			JavacMethodBinding known = findCanonicalMethodBinding(methodType, methodSymbol, parentType, true, false, resolvedTypeArgs);
+			if (known != null) {
+				return known;
+			}
 			JavacMethodBinding newInstance = new JavacMethodBinding(methodType, methodSymbol, parentType, JavacBindingResolver.this, true, false, resolvedTypeArgs) { };
-			return insertAndReturn(newInstance);
+			return rememberCanonicalMethodBinding(methodType, methodSymbol, parentType, true, false, resolvedTypeArgs, insertAndReturn(newInstance));
+		}
+		/**
+		 * Canonical method bindings by identity of the javac objects they were requested for,
+		 * so that asking again for the same method doesn't allocate a binding nor hashes its type.
+		 * Only requests without explicit type arguments are remembered.
+		 */
+		private Map<MethodSymbol, CanonicalMethodBinding[]> canonicalMethodBindings = new IdentityHashMap<>();
+		private record CanonicalMethodBinding(ExecutableType methodType, com.sun.tools.javac.code.Type parentType, boolean isSynthetic, boolean isDeclaration, JavacMethodBinding binding) {}
+		private JavacMethodBinding findCanonicalMethodBinding(ExecutableType methodType, MethodSymbol methodSymbol,
+				com.sun.tools.javac.code.Type parentType, boolean isSynthetic, boolean isDeclaration,
+				List<com.sun.tools.javac.code.Type> resolvedTypeArgs) {
+			if (methodSymbol == null || (resolvedTypeArgs != null && !resolvedTypeArgs.isEmpty())) {
+				return null;
+			}
+			CanonicalMethodBinding[] candidates = canonicalMethodBindings.get(methodSymbol);
+			if (candidates != null) {
+				for (CanonicalMethodBinding candidate : candidates) {
+					if (candidate.methodType() == methodType && candidate.parentType() == parentType
+							&& candidate.isSynthetic() == isSynthetic && candidate.isDeclaration() == isDeclaration) {
+						return candidate.binding();
+					}
+				}
+			}
+			return null;
+		}
+		private JavacMethodBinding rememberCanonicalMethodBinding(ExecutableType methodType, MethodSymbol methodSymbol,
+				com.sun.tools.javac.code.Type parentType, boolean isSynthetic, boolean isDeclaration,
+				List<com.sun.tools.javac.code.Type> resolvedTypeArgs, JavacMethodBinding binding) {
+			if (methodSymbol == null || (resolvedTypeArgs != null && !resolvedTypeArgs.isEmpty())) {
+				return binding;
+			}
+			CanonicalMethodBinding entry = new CanonicalMethodBinding(methodType, parentType, isSynthetic, isDeclaration, binding);
+			CanonicalMethodBinding[] candidates = canonicalMethodBindings.get(methodSymbol);
+			if (candidates == null) {
+				candidates = new CanonicalMethodBinding[] { entry };
+			} else {
+				candidates = Arrays.copyOf(candidates, candidates.length + 1);
+				candidates[candidates.length - 1] = entry;
+			}
+			canonicalMethodBindings.put(methodSymbol, candidates);
+			return binding;
 		}
 		public JavacMethodBinding getErrorMethodBinding(ExecutableType methodType, Symbol originatingSymbol, List<com.sun.tools.javac.code.Type> typeArgs) {
 			JavacMethodBinding newInstance = new JavacErrorMethodBinding(originatingSymbol, methodType, JavacBindingResolver.this) { };
@@ -276,6 +331,48 @@ public class JavacBindingResolver extends BindingResolver {
 		}
 		//
 		private Map<JavacTypeBinding, JavacTypeBinding> typeBinding = new HashMap<>();
+		/**
+		 * Type bindings created since the last lookup of {@link #findTypeBindingCandidates(Set, boolean)}, which
+		 * indexes them: computing their key and name isn't free and is only needed to recover bindings.
+		 */
+		private List<JavacTypeBinding> unindexedTypeBindings = new ArrayList<>();
+		private Map<String, List<JavacTypeBinding>> typeBindingsByKeyAndName = new HashMap<>();
+		private List<JavacTypeBinding> boundedWildcardBindings = new ArrayList<>();
+		/**
+		 * @return the binding equal to the given one, which is added if there is none
+		 */
+		private JavacTypeBinding addTypeBinding(JavacTypeBinding newInstance) {
+			JavacTypeBinding existing = typeBinding.putIfAbsent(newInstance, newInstance);
+			if (existing != null) {
+				return existing;
+			}
+			unindexedTypeBindings.add(newInstance);
+			return newInstance;
+		}
+		/**
+		 * @param names the keys and names to look for
+		 * @param wildcards whether all the bounded wildcard bindings are candidates
+		 * @return the type bindings whose key or name is one of the given names, and the bounded wildcards if requested
+		 */
+		Collection<JavacTypeBinding> findTypeBindingCandidates(Set<String> names, boolean wildcards) {
+			for (JavacTypeBinding binding : unindexedTypeBindings) {
+				typeBindingsByKeyAndName.computeIfAbsent(binding.getKey(), k -> new ArrayList<>(1)).add(binding);
+				String name = binding.getName();
+				if (!Objects.equals(name, binding.getKey())) {
+					typeBindingsByKeyAndName.computeIfAbsent(name, k -> new ArrayList<>(1)).add(binding);
+				}
+				if (binding.isWildcardType() && binding.getBound() != null) {
+					boundedWildcardBindings.add(binding);
+				}
+			}
+			unindexedTypeBindings.clear();
+			Set<JavacTypeBinding> res = new LinkedHashSet<>();
+			names.forEach(name -> res.addAll(typeBindingsByKeyAndName.getOrDefault(name, List.of())));
+			if (wildcards) {
+				res.addAll(boundedWildcardBindings);
+			}
+			return res;
+		}
 //		public JavacTypeBinding getTypeBinding(JCTree tree, com.sun.tools.javac.code.Type type) {
 //			return getTypeBinding(type, null, null, tree instanceof JCClassDecl);
 //		}
@@ -288,7 +385,30 @@ public class JavacBindingResolver extends BindingResolver {
 			boolean likelyGeneric = false;
 			return getTypeBinding(type.baseType(), null, null, likelyGeneric);
 		}
+		/**
+		 * Canonical type bindings by identity of the requested javac type, one map per value of the generic flag.
+		 * As neither the alternatives nor the backup owner take part in the equality of type bindings, the
+		 * same type always ends up with the same binding, which can then be returned without allocating a
+		 * new instance nor hashing the structure of the type.
+		 */
+		private Map<com.sun.tools.javac.code.Type, JavacTypeBinding> canonicalTypeBindings = new IdentityHashMap<>();
+		private Map<com.sun.tools.javac.code.Type, JavacTypeBinding> canonicalGenericTypeBindings = new IdentityHashMap<>();
 		public JavacTypeBinding getTypeBinding(com.sun.tools.javac.code.Type type, com.sun.tools.javac.code.Type[] alternatives, Symbol backupOwner, boolean isGeneric) {
+			if (type == null) {
+				return null;
+			}
+			Map<com.sun.tools.javac.code.Type, JavacTypeBinding> canonical = isGeneric ? canonicalGenericTypeBindings : canonicalTypeBindings;
+			JavacTypeBinding res = canonical.get(type);
+			if (res == null) {
+				res = createTypeBinding(type, alternatives, backupOwner, isGeneric);
+				// incomplete class types may be substituted by createTypeBinding, but not once completed
+				if (res != null && (type instanceof ErrorType || !(type instanceof ClassType classType && classType.interfaces_field == null))) {
+					canonical.put(type, res);
+				}
+			}
+			return res;
+		}
+		private JavacTypeBinding createTypeBinding(com.sun.tools.javac.code.Type type, com.sun.tools.javac.code.Type[] alternatives, Symbol backupOwner, boolean isGeneric) {
 			if (type instanceof com.sun.tools.javac.code.Type.TypeVar typeVar) {
 				return getTypeVariableBinding(typeVar, backupOwner);
 			}
@@ -302,16 +422,14 @@ public class JavacBindingResolver extends BindingResolver {
 						&& !(originalType instanceof com.sun.tools.javac.code.Type.ForAll)
 						&& !(originalType instanceof com.sun.tools.javac.code.Type.ErrorType)) {
 					JavacTypeBinding newInstance = new JavacTypeBinding(originalType, type.tsym, alternatives, backupOwner, isGeneric, JavacBindingResolver.this) { };
-					typeBinding.putIfAbsent(newInstance, newInstance);
-					JavacTypeBinding jcb = typeBinding.get(newInstance);
+					JavacTypeBinding jcb = addTypeBinding(newInstance);
 					jcb.setRecovered(true);
 					return jcb;
 				} else if (errorType.tsym instanceof ClassSymbol classErrorSymbol &&
 							Character.isJavaIdentifierStart(classErrorSymbol.getSimpleName().charAt(0))) {
 					// non usable original type: try symbol
 					JavacTypeBinding newInstance = new JavacTypeBinding(classErrorSymbol.type, classErrorSymbol, alternatives, backupOwner, isGeneric, JavacBindingResolver.this) { };
-					typeBinding.putIfAbsent(newInstance, newInstance);
-					JavacTypeBinding jcb = typeBinding.get(newInstance);
+					JavacTypeBinding jcb = addTypeBinding(newInstance);
 					jcb.setRecovered(true);
 					return jcb;
 				}
@@ -331,38 +449,49 @@ public class JavacBindingResolver extends BindingResolver {
 				}
 			}
 			JavacTypeBinding newInstance = new JavacTypeBinding(type, type.tsym, alternatives, backupOwner, isGeneric, JavacBindingResolver.this) { };
-			typeBinding.putIfAbsent(newInstance, newInstance);
-			return typeBinding.get(newInstance);
+			return addTypeBinding(newInstance);
 		}
 		public JavacTypeBinding getRecoveredTypeBinding(com.sun.tools.javac.code.Type type, Name domName) {
 			if (domName.getLocationInParent() == SimpleType.NAME_PROPERTY) {
 				return getRecoveredTypeBinding(type, (SimpleType)domName.getParent());
 			}
 			var res = new JavacRecoveredTypeBinding(type, domName, JavacBindingResolver.this);
-			typeBinding.putIfAbsent(res, res);
-			return typeBinding.get(res);
+			return addTypeBinding(res);
 		}
 		public JavacTypeBinding getRecoveredTypeBinding(com.sun.tools.javac.code.Type type, Type domType) {
 			var res = new JavacRecoveredTypeBinding(type, domType, JavacBindingResolver.this);
-			typeBinding.putIfAbsent(res, res);
-			return typeBinding.get(res);
+			return addTypeBinding(res);
 		}
 		//
 		private Map<JavacTypeVariableBinding, JavacTypeVariableBinding> typeVariableBindings = new HashMap<>();
+		private Map<TypeVar, JavacTypeVariableBinding> canonicalTypeVariableBindings = new IdentityHashMap<>();
 		public JavacTypeVariableBinding getTypeVariableBinding(TypeVar typeVar, Symbol backupOwner) {
+			JavacTypeVariableBinding res = canonicalTypeVariableBindings.get(typeVar);
+			if (res != null) {
+				return res;
+			}
 			JavacTypeVariableBinding newInstance = new JavacTypeVariableBinding(typeVar, (TypeVariableSymbol)typeVar.tsym, backupOwner, JavacBindingResolver.this) { };
 			typeVariableBindings.putIfAbsent(newInstance, newInstance);
-			return typeVariableBindings.get(newInstance);
+			res = typeVariableBindings.get(newInstance);
+			canonicalTypeVariableBindings.put(typeVar, res);
+			return res;
 		}
 		//
 		private Map<JavacVariableBinding, JavacVariableBinding> variableBindings = new HashMap<>();
+		private Map<VarSymbol, JavacVariableBinding> canonicalVariableBindings = new IdentityHashMap<>();
 		public JavacVariableBinding getVariableBinding(VarSymbol varSymbol) {
 			if (varSymbol == null) {
 				return null;
 			}
+			JavacVariableBinding res = canonicalVariableBindings.get(varSymbol);
+			if (res != null) {
+				return res;
+			}
 			JavacVariableBinding newInstance = new JavacVariableBinding(varSymbol, JavacBindingResolver.this) { };
 			variableBindings.putIfAbsent(newInstance, newInstance);
-			return variableBindings.get(newInstance);
+			res = variableBindings.get(newInstance);
+			canonicalVariableBindings.put(varSymbol, res);
+			return res;
 		}
 		//
 		private Map<JavacLambdaBinding, JavacLambdaBinding> lambdaBindings = new HashMap<>();
@@ -453,17 +582,35 @@ public class JavacBindingResolver extends BindingResolver {
 	}
 	public final Bindings bindings = new Bindings();
 	private WorkingCopyOwner owner;
-	private HashMap<ASTNode, IBinding> resolvedBindingsCache = new HashMap<>();
+	private Map<ASTNode, IBinding> resolvedBindingsCache = new IdentityHashMap<>();
 	private Map<IBinding, ASTNode> resolvedBindingsCacheInverted = new HashMap<>();
 	private List<JCCompilationUnit> javacCompilationUnits;
 	private JavacTask javacTask; // TODO evaluate memory cost of storing the instance
 	// it will probably be better to run the `Enter` and then only extract interesting
 	// date from it.
 	public final Context context;
-	public Map<Symbol, ASTNode> symbolToDeclaration;
+	private volatile boolean resolved;
+	/**
+	 * Declaration nodes by symbol, built from the converted trees when first needed after resolution
+	 */
+	private Map<Symbol, ASTNode> symbolToDeclaration;
+	/**
+	 * Symbols of the declarations by binding key, only built when bindings are looked up by key
+	 */
+	private Map<String, Symbol> keyToDeclarationSymbol;
+	private final Map<String, String> keys = new ConcurrentHashMap<>();
 	public final IJavaProject javaProject;
 	public JavacConverter converter;
 	boolean isRecoveringBindings = false;
+	/**
+	 * When set, the unit of this resolver is attributed on its own when first needed, see {@link JavacLazyAttribution}
+	 */
+	JavacLazyAttribution lazyAttribution;
+	/**
+	 * When this system property is set, the javac state that bindings don't use is released once the
+	 * trees are attributed, see {@link #releaseAttributionState(List)}
+	 */
+	static final String COMPACT_PROPERTY = "org.eclipse.jdt.core.javac.compactBindings"; //$NON-NLS-1$
 
 
 	public JavacBindingResolver(IJavaProject javaProject, JavacTask javacTask, Context context, JavacConverter converter, WorkingCopyOwner owner, List<JCCompilationUnit> javacCompilationUnits) {
@@ -476,7 +623,7 @@ public class JavacBindingResolver extends BindingResolver {
 	}
 
 	private void resolve() {
-		if (this.symbolToDeclaration != null) {
+		if (this.resolved) {
 			// already done and ready
 			return;
 		}
@@ -488,6 +635,17 @@ public class JavacBindingResolver extends BindingResolver {
 			if( this.javacTask == null ) {
 				return;
 			}
+			if (this.lazyAttribution != null) {
+				this.lazyAttribution.attribute(this.converter.javacCompilationUnit);
+				if (Boolean.getBoolean(COMPACT_PROPERTY)) {
+					// other units of the batch may still be attributed (and report problems)
+					releaseAttributionState(List.of(this.converter.javacCompilationUnit));
+				}
+				this.javacTask = null;
+				this.javacCompilationUnits = null;
+				this.resolved = true;
+				return;
+			}
 			boolean alreadyAnalyzed = this.converter.domToJavac.values().stream().map(TreeInfo::symbolFor).anyMatch(Objects::nonNull);
 			if (!alreadyAnalyzed) {
 				// symbols not already present: analyze
@@ -523,11 +681,44 @@ public class JavacBindingResolver extends BindingResolver {
 			}
 			// some cleanups to encourage garbage collection
 			JavacCompilationUnitResolver.cleanup(context);
+			if (Boolean.getBoolean(COMPACT_PROPERTY)) {
+				releaseAttributionState(this.javacCompilationUnits);
+			}
 		}
 		this.javacTask = null;
+		this.javacCompilationUnits = null;
+		// bindings are created on demand, see symbolToDeclaration() and keyToDeclarationSymbol()
+		this.resolved = true;
+	}
+
+	/**
+	 * Releases what is only needed to attribute and report problems for the given units, so that
+	 * it isn't retained as long as the AST is:
+	 * <ul>
+	 * <li>the contents of the units cached by the file manager (the converters keep the text they use),</li>
+	 * <li>the javadoc diagnostics and unattached comments kept by the converter of this unit.</li>
+	 * </ul>
+	 * Bindings are still created on demand from the javac symbols and types, which need the context.
+	 * Must be called once the given units are attributed.
+	 */
+	private void releaseAttributionState(List<JCCompilationUnit> units) {
+		if (units != null && this.context.get(JavaFileManager.class) instanceof BaseFileManager fileManager) {
+			units.forEach(unit -> fileManager.flushCache(unit.getSourceFile()));
+		}
+		this.converter.javadocDiagnostics.clear();
+		this.converter.notAttachedComments.clear();
+	}
+
+	/**
+	 * @return the declaration nodes by symbol, or <code>null</code> if the trees are not resolved yet
+	 */
+	private Map<Symbol, ASTNode> symbolToDeclaration() {
+		if (!this.resolved) {
+			return null;
+		}
 		synchronized (this) {
 			if (this.symbolToDeclaration == null) {
-				Map<Symbol, ASTNode> wipSymbolToDeclaration = new HashMap<>();
+				Map<Symbol, ASTNode> wipSymbolToDeclaration = new IdentityHashMap<>();
 				this.converter.domToJavac.forEach((jdt, javac) -> {
 					// We don't want FieldDeclaration (ref ASTConverterTest2.test0433)
 					if (jdt instanceof ModuleDeclaration ||
@@ -544,13 +735,51 @@ public class JavacBindingResolver extends BindingResolver {
 						}
 					}
 				});
-				// prefill the binding so that they're already searchable by key
-				wipSymbolToDeclaration.keySet().forEach(sym -> this.bindings.getBinding(sym, null));
 				this.symbolToDeclaration = wipSymbolToDeclaration;
 			}
+			return this.symbolToDeclaration;
+		}
+	}
+
+	/**
+	 * Computes the keys of the bindings of all the declarations, so that they can be found by key.
+	 * As it creates the bindings of all the declarations, it's only done on the first lookup by key.
+	 *
+	 * @return the declaration symbols by binding key, empty if the trees are not resolved yet
+	 */
+	private Map<String, Symbol> keyToDeclarationSymbol() {
+		Map<Symbol, ASTNode> declarations = symbolToDeclaration();
+		if (declarations == null) {
+			return Map.of();
+		}
+		synchronized (this) {
+			if (this.keyToDeclarationSymbol == null) {
+				Map<String, Symbol> wipKeyToSymbol = new HashMap<>();
+				declarations.keySet().forEach(sym -> {
+					IBinding binding = this.bindings.getBinding(sym, null);
+					String key = binding != null ? binding.getKey() : null;
+					if (key != null) {
+						wipKeyToSymbol.putIfAbsent(key, sym);
+					}
+				});
+				this.keyToDeclarationSymbol = wipKeyToSymbol;
+			}
+			return this.keyToDeclarationSymbol;
 		}
 	}
 
+	/**
+	 * @return the instance of the given binding key shared by all the bindings of this resolver,
+	 * so that equal keys of different bindings don't use memory multiple times
+	 */
+	public String internKey(String key) {
+		if (key == null) {
+			return null;
+		}
+		String res = this.keys.putIfAbsent(key, key);
+		return res != null ? res : key;
+	}
+
 	public ASTNode findAstNodeForBinding(IBinding b) {
 		return resolvedBindingsCacheInverted.get(b);
 	}
@@ -561,6 +790,13 @@ public class JavacBindingResolver extends BindingResolver {
 	}
 
 	public IBinding findBinding(String bindingKey) {
+		Symbol declaration = keyToDeclarationSymbol().get(bindingKey);
+		if (declaration != null) {
+			IBinding res = this.bindings.getBinding(declaration, null);
+			if (res != null) {
+				return res;
+			}
+		}
 		return this.bindings.getBinding(bindingKey);
 	}
 
@@ -587,18 +823,19 @@ public class JavacBindingResolver extends BindingResolver {
 
 		HashSet<String> validNames = new HashSet<String>();
 		validNames.add(bindingKey);
-		compoundListWithAction(validNames, x -> x.replaceAll("\\.", "/"));
+		compoundListWithAction(validNames, x -> x.replace('.', '/'));
 		compoundListWithAction(validNames, x -> x.endsWith(";") ? x.substring(0, x.length() - 1) : null);
 		compoundListWithAction(validNames, x -> x.startsWith("+") || x.startsWith("-") ? x.substring(1) : null);
 		compoundListWithAction(validNames, x -> x.lastIndexOf(".", x.length() - 1) != -1 ? x.substring(x.lastIndexOf(".") + 1) : null);
 		compoundListWithAction(validNames, x -> x.startsWith("Q") ? x.substring(1) : null);
-		compoundListWithAction(validNames, x -> x.contains("<Q") ? x.replaceAll("<Q", "<") : null);
-		compoundListWithAction(validNames, x -> x.startsWith("+Q") ? x.replaceAll("\\+Q", "? extends ") : null);
-		compoundListWithAction(validNames, x -> x.startsWith("-Q") ? x.replaceAll("-Q", "? super ") : null);
+		compoundListWithAction(validNames, x -> x.contains("<Q") ? x.replace("<Q", "<") : null);
+		compoundListWithAction(validNames, x -> x.startsWith("+Q") ? x.replace("+Q", "? extends ") : null);
+		compoundListWithAction(validNames, x -> x.startsWith("-Q") ? x.replace("-Q", "? super ") : null);
 		String bindingKeySimpleName = Signature.getSignatureSimpleName(withoutSuperExtends);
 		validNames.add(bindingKeySimpleName);
 
-		Collection<JavacTypeBinding> c = new ArrayList<>(this.bindings.typeBinding.values());
+		keyToDeclarationSymbol(); // makes sure the declared types have bindings
+		Collection<JavacTypeBinding> c = this.bindings.findTypeBindingCandidates(validNames, bkExtends || bkSuper);
 		int matchesKey = 0x80;
 		int matchesSimpleName = 0x40;
 		int matchesSuperExtends = 0x10;
@@ -634,7 +871,7 @@ public class JavacBindingResolver extends BindingResolver {
 	@Override
 	public ASTNode findDeclaringNode(String bindingKey) {
 		resolve();
-		IBinding binding = this.bindings.getBinding(bindingKey);
+		IBinding binding = findBinding(bindingKey);
 		if (binding == null) {
 			return null;
 		}
@@ -664,8 +901,9 @@ public class JavacBindingResolver extends BindingResolver {
 	}
 
 	public ASTNode findNode(Symbol symbol) {
-		if (this.symbolToDeclaration != null) {
-			return this.symbolToDeclaration.get(symbol);
+		Map<Symbol, ASTNode> declarations = symbolToDeclaration();
+		if (declarations != null) {
+			return declarations.get(symbol);
 		}
 		return null;
 	}
@@ -2475,7 +2713,7 @@ public class JavacBindingResolver extends BindingResolver {
 	}
 
 	public JCTree findJCTreeForSymbol(Symbol s) {
-		ASTNode dom = symbolToDeclaration.get(s);
+		ASTNode dom = findNode(s);
 		if( dom != null ) {
 			return converter.domToJavac.get(dom);
 		}
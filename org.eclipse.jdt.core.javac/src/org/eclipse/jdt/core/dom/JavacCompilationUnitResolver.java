@@ -106,6 +106,7 @@ import org.eclipse.jdt.internal.javac.problem.JavacProblemDiscovery;
 import org.eclipse.jdt.internal.javac.problem.UnusedProblemFactory;
 
 import com.sun.source.util.JavacTask;
+import com.sun.tools.javac.api.JavacTaskImpl;
 import com.sun.tools.javac.api.JavacTool;
 import com.sun.tools.javac.api.MultiTaskListener;
 import com.sun.tools.javac.comp.CompileStates.CompileState;
@@ -133,6 +134,10 @@ import com.sun.tools.javac.util.Options;
 public class JavacCompilationUnitResolver implements ICompilationUnitResolver {
 
 	private static final String MOCK_NAME_FOR_CLASSES = "whatever_InvalidNameWE_HOP3_n00ne_will_Ever_use_in_real_file.java";
+	/**
+	 * The prefix of the packages of the mock working copies created to resolve binding keys
+	 */
+	public static final String MOCK_PACKAGE_PREFIX = JavacCompilationUnitResolver.class.getName() + ".MOCK_WORKING_COPY_PACKAGE_"; //$NON-NLS-1$
 	public static final Key<Map<JavaFileObject, File>> FILE_OBJECTS_TO_JAR_KEY = new Key<>();
 
 	private final class ForwardDiagnosticsAsDOMProblems implements DiagnosticListener<JavaFileObject> {
@@ -242,7 +247,7 @@ public class JavacCompilationUnitResolver implements ICompilationUnitResolver {
 			for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
 				if (root.getResource() instanceof IFolder) {
 					long nanoTime = System.nanoTime();
-					IPackageFragment pack = root.getPackageFragment(this.getClass().getName() + ".MOCK_WORKING_COPY_PACKAGE_" + nanoTime);
+					IPackageFragment pack = root.getPackageFragment(MOCK_PACKAGE_PREFIX + nanoTime);
 					ICompilationUnit mockUnit = pack.getCompilationUnit("MockWorkingCopyClass" + nanoTime + ".java");
 					mockUnit.becomeWorkingCopy(monitor);
 					mockUnit.getBuffer().setContents("package " + pack.getElementName() + ";\n" +
@@ -752,6 +757,12 @@ public class JavacCompilationUnitResolver implements ICompilationUnitResolver {
 		}
 
 		List<JCCompilationUnit> javacCompilationUnits = new ArrayList<>();
+		JavacLazyAttribution lazyAttribution = resolveBindings && focalPoint < 0 && filesToUnits.size() > 1
+				&& (flags & ICompilationUnit.FORCE_PROBLEM_DETECTION) == 0
+				&& JavacLazyAttribution.isEnabled()
+				&& task instanceof JavacTaskImpl taskImpl
+				&& !hasAnnotationProcessorPath(fileManager) ?
+				new JavacLazyAttribution(taskImpl, context, filesToUnits) : null;
 		try {
 			var elements = task.parse().iterator();
 			// after parsing, we already have the comments and we don't care about reading other comments
@@ -832,6 +843,10 @@ public class JavacCompilationUnitResolver implements ICompilationUnitResolver {
 					if( resolveBindings ) {
 						JavacBindingResolver resolver = new JavacBindingResolver(javaProject, task, context, converter, workingCopyOwner, javacCompilationUnits);
 						resolver.isRecoveringBindings = (flags & ICompilationUnit.ENABLE_BINDINGS_RECOVERY) != 0;
+						if (lazyAttribution != null) {
+							resolver.lazyAttribution = lazyAttribution;
+							lazyAttribution.add(u, res);
+						}
 						ast.setBindingResolver(resolver);
 					}
 
@@ -846,10 +861,17 @@ public class JavacCompilationUnitResolver implements ICompilationUnitResolver {
 				}
 			} // End While Loop
 
-			conditionallyAnalyzeTask(resolveBindings, flags, fileManager, task);
+			if (lazyAttribution != null) {
+				// each unit gets attributed on first binding request
+				lazyAttribution.enter(javacCompilationUnits);
+			} else {
+				conditionallyAnalyzeTask(resolveBindings, flags, fileManager, task);
+			}
 
 			postAnalyzeProblemDiscovery(filesToUnits, domToReferenceContext, compilerOptions);
-
+			if (lazyAttribution != null) {
+				lazyAttribution.release();
+			}
 
 			if (!resolveBindings) {
 				destroy(context);
@@ -1095,8 +1117,7 @@ public class JavacCompilationUnitResolver implements ICompilationUnitResolver {
 			JavacTask task) {
 		boolean forceProblemDetection = (flags & ICompilationUnit.FORCE_PROBLEM_DETECTION) != 0;
 		boolean forceBindingRecovery = (flags & ICompilationUnit.ENABLE_BINDINGS_RECOVERY) != 0;
-		var aptPath = fileManager.getLocation(StandardLocation.ANNOTATION_PROCESSOR_PATH);
-		boolean aptPathForceAnalyze = (aptPath != null && aptPath.iterator().hasNext());
+		boolean aptPathForceAnalyze = hasAnnotationProcessorPath(fileManager);
 		if (resolveBindings || forceProblemDetection || forceBindingRecovery || aptPathForceAnalyze ) {
 			// Let's run analyze until it finishes without error
 			Throwable caught = null;
@@ -1112,6 +1133,11 @@ public class JavacCompilationUnitResolver implements ICompilationUnitResolver {
 		}
 	}
 
+	private static boolean hasAnnotationProcessorPath(JavacFileManager fileManager) {
+		var aptPath = fileManager.getLocation(StandardLocation.ANNOTATION_PROCESSOR_PATH);
+		return aptPath != null && aptPath.iterator().hasNext();
+	}
+
 	private static JavaFileObject cuToFileObject(
 			IJavaProject javaProject,
 			char[] sourceUnitFileName,
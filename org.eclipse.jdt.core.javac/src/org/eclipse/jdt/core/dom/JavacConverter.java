@@ -17,8 +17,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -152,8 +152,9 @@ class JavacConverter {
 	final JCCompilationUnit javacCompilationUnit;
 	final String rawText;
 	private final Context context;
-	final Map<ASTNode, JCTree> domToJavac = new HashMap<>();
-	Map<JCMethodInvocation, JCTree> invocationToSiteType = new HashMap<>();
+	// ASTNode and JCTree have identity semantics, identity maps store the same without an entry object per node
+	final Map<ASTNode, JCTree> domToJavac = new IdentityHashMap<>();
+	Map<JCMethodInvocation, JCTree> invocationToSiteType = new IdentityHashMap<>();
 	final Set<JCDiagnostic> javadocDiagnostics = new HashSet<>();
 	private final List<JavadocConverter> javadocConverters = new ArrayList<>();
 	final List<org.eclipse.jdt.core.dom.Comment> notAttachedComments = new ArrayList<>();
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.core.dom;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.lang.model.element.Element;
+import javax.tools.JavaFileObject;
+
+import org.eclipse.core.runtime.ILog;
+
+import com.sun.tools.javac.api.JavacTaskImpl;
+import com.sun.tools.javac.tree.JCTree.JCClassDecl;
+import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
+import com.sun.tools.javac.util.Context;
+
+/**
+ * Attribution of a batch of units parsed together, done unit by unit on the first binding request
+ * for each unit instead of for the whole batch before any binding is available.
+ *
+ * Enter runs once for the whole batch (so that all the types of the batch are known to each other),
+ * then each unit gets attributed when its binding resolver is first used. The javac context is only
+ * cleaned up once all the units of the batch are attributed.
+ *
+ * Once the batch is entered, the ASTs are no longer referenced by the diagnostics listener of the context
+ * (which would keep the whole batch alive as long as one of its ASTs is): each AST is only known to the
+ * listener while its unit gets attributed, so that the diagnostics of its attribution are reported on it.
+ *
+ * As the diagnostics of attribution are only reported when a unit is attributed, the problems of
+ * the AST of a unit are incomplete until its bindings are requested; this mode is hence only used
+ * when problems are not explicitly requested, and when the {@value #PROPERTY} system property is set.
+ */
+class JavacLazyAttribution {
+
+	static final String PROPERTY = "org.eclipse.jdt.core.javac.lazyAttribution"; //$NON-NLS-1$
+
+	private final JavacTaskImpl task;
+	private final Context context;
+	private final Map<JavaFileObject, CompilationUnit> filesToUnits;
+	/**
+	 * The units not attributed yet, with their AST (not kept alive by the batch)
+	 */
+	private final Map<JCCompilationUnit, WeakReference<CompilationUnit>> pending = new HashMap<>();
+
+	/**
+	 * @param filesToUnits the ASTs the diagnostics of the context are reported on
+	 */
+	JavacLazyAttribution(JavacTaskImpl task, Context context, Map<JavaFileObject, CompilationUnit> filesToUnits) {
+		this.task = task;
+		this.context = context;
+		this.filesToUnits = filesToUnits;
+	}
+
+	/**
+	 * @return whether attribution should be done lazily for batches
+	 */
+	static boolean isEnabled() {
+		return Boolean.getBoolean(PROPERTY);
+	}
+
+	/**
+	 * Registers a unit whose bindings may be requested
+	 *
+	 * @param ast the AST of the unit
+	 */
+	void add(JCCompilationUnit unit, CompilationUnit ast) {
+		this.pending.put(unit, new WeakReference<>(ast));
+	}
+
+	/**
+	 * Enters all the units of the batch, without attributing them.
+	 */
+	void enter(List<JCCompilationUnit> units) {
+		try {
+			this.task.enter(units);
+		} catch (IOException | Error | RuntimeException e) {
+			ILog.get().error(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Releases the ASTs of the batch, once the problems of parsing and enter are reported on them. Units
+	 * that were never registered (eg their conversion failed) won't be attributed.
+	 */
+	void release() {
+		this.filesToUnits.clear();
+		if (this.pending.isEmpty()) {
+			JavacCompilationUnitResolver.cleanup(this.context);
+		}
+	}
+
+	/**
+	 * Attributes the given unit unless it's already done. Must be called while holding the lock of the task.
+	 */
+	void attribute(JCCompilationUnit unit) {
+		WeakReference<CompilationUnit> ast = this.pending.remove(unit);
+		if (ast == null) {
+			return;
+		}
+		List<Element> classes = unit.getTypeDecls().stream()
+				.filter(JCClassDecl.class::isInstance)
+				.map(JCClassDecl.class::cast)
+				.map(decl -> (Element)decl.sym)
+				.filter(Objects::nonNull)
+				.toList();
+		try {
+			if (classes.isEmpty()) {
+				// package-info or module-info: no class to filter on, all the remaining units get attributed
+				this.pending.forEach((other, otherAST) -> report(other, otherAST));
+				this.pending.clear();
+				report(unit, ast);
+				this.task.analyze();
+			} else {
+				report(unit, ast);
+				this.task.analyze(classes);
+			}
+		} catch (IOException | Error | RuntimeException e) {
+			ILog.get().error(e.getMessage(), e);
+		} finally {
+			this.filesToUnits.clear();
+		}
+		if (this.pending.isEmpty()) {
+			// some cleanups to encourage garbage collection
+			JavacCompilationUnitResolver.cleanup(this.context);
+		}
+	}
+
+	/**
+	 * Makes the diagnostics of the given unit reported on its AST, if still alive
+	 */
+	private void report(JCCompilationUnit unit, WeakReference<CompilationUnit> ast) {
+		CompilationUnit res = ast.get();
+		if (res != null) {
+			this.filesToUnits.put(unit.getSourceFile(), res);
+		}
+	}
+}
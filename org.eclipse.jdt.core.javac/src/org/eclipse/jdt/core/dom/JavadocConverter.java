@@ -11,8 +11,8 @@
 package org.eclipse.jdt.core.dom;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -84,7 +84,7 @@ class JavadocConverter {
 	private final TreePath contextTreePath;
 	private String rawContent;
 
-	public final Map<ASTNode, DocTreePath> converted = new HashMap<>();
+	public final Map<ASTNode, DocTreePath> converted = new IdentityHashMap<>();
 
 	final private Set<JCDiagnostic> diagnostics = new HashSet<>();
 
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.codeassist;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.JavacBindingResolver;
+import org.eclipse.jdt.core.dom.JdtCoreDomPackagePrivateUtility;
+
+/**
+ * Turns Java model types into bindings for a completion AST, and keeps them for the life of the AST.
+ * It's held by the completion engine, and replaced when the engine works on another AST. Like the AST
+ * and its bindings, it's only used on the request thread (see {@link DOMCompletionExecutor}).
+ *
+ * Types whose content is the same on disk and in the model (binary types, sources without unsaved changes,
+ * and the types of the unit of the AST) are loaded in the javac context of the completion AST, which is
+ * already set up with the classpath and source path of the project. The other ones (eg types of other units
+ * with unsaved changes) need {@link ASTParser#createBindings(org.eclipse.jdt.core.IJavaElement[], org.eclipse.core.runtime.IProgressMonitor)},
+ * which is called once for all the types asked for together.
+ */
+class DOMBindingMaterializer {
+
+	private final CompilationUnit ast;
+	private final JavacBindingResolver resolver;
+	private final ICompilationUnit unit;
+	private final IJavaProject project;
+	private final WorkingCopyOwner owner;
+	private final Map<IType, Optional<ITypeBinding>> bindings = new HashMap<>();
+
+	DOMBindingMaterializer(CompilationUnit ast, IJavaProject project, WorkingCopyOwner owner) {
+		this.ast = ast;
+		this.resolver = JdtCoreDomPackagePrivateUtility.getJavacBindingResolverOrNull(ast);
+		this.unit = ast.getJavaElement() instanceof ICompilationUnit cu ? cu : null;
+		this.project = project;
+		this.owner = owner;
+	}
+
+	/**
+	 * @return whether this materializer resolves bindings for the given AST
+	 */
+	boolean isFor(CompilationUnit otherAst) {
+		return this.ast == otherAst;
+	}
+
+	/**
+	 * @return the binding of the given type, or <code>null</code> if it can't be resolved
+	 */
+	ITypeBinding typeBinding(IType type) {
+		return typeBindings(type)[0];
+	}
+
+	/**
+	 * @return the bindings of the given types, in the same order, <code>null</code> for types that can't be resolved
+	 */
+	ITypeBinding[] typeBindings(IType... types) {
+		ITypeBinding[] res = new ITypeBinding[types.length];
+		List<Integer> toCreate = new ArrayList<>();
+		for (int i = 0; i < types.length; i++) {
+			Optional<ITypeBinding> known = this.bindings.get(types[i]);
+			if (known != null) {
+				res[i] = known.orElse(null);
+				continue;
+			}
+			res[i] = isInContext(types[i]) ? this.resolver.resolveTypeFromContext(types[i].getFullyQualifiedName()) : null;
+			if (res[i] != null && !res[i].isRecovered() && isBindingOf(res[i], types[i])) {
+				this.bindings.put(types[i], Optional.of(res[i]));
+			} else {
+				res[i] = null;
+				toCreate.add(i);
+			}
+		}
+		if (!toCreate.isEmpty()) {
+			ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+			parser.setWorkingCopyOwner(this.owner);
+			parser.setProject(this.project);
+			IBinding[] created = parser.createBindings(toCreate.stream().map(i -> types[i]).toArray(IType[]::new), new NullProgressMonitor());
+			for (int j = 0; j < toCreate.size(); j++) {
+				int i = toCreate.get(j);
+				res[i] = j < created.length && created[j] instanceof ITypeBinding typeBinding ? typeBinding : null;
+				this.bindings.put(types[i], Optional.ofNullable(res[i]));
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * @return whether the binding found by name is the one of the given type: resolving by name maps some
+	 * 	well known names to other types, eg <code>java.lang.Integer</code> to <code>int</code>
+	 */
+	private static boolean isBindingOf(ITypeBinding binding, IType type) {
+		return !binding.isPrimitive()
+			&& binding.getErasure() != null
+			&& Objects.equals(binding.getErasure().getBinaryName(), type.getFullyQualifiedName());
+	}
+
+	/**
+	 * @return whether the given type can be loaded from the javac context of the AST with the same content as in the model
+	 */
+	private boolean isInContext(IType type) {
+		if (this.resolver == null) {
+			return false;
+		}
+		if (type.isBinary()) {
+			return true;
+		}
+		try {
+			if (type.isLocal() || type.isAnonymous()) {
+				return false;
+			}
+			ICompilationUnit cu = type.getCompilationUnit();
+			if (cu == null) {
+				return false;
+			}
+			if (this.unit != null && cu.getPrimary().equals(this.unit.getPrimary())) {
+				return true;
+			}
+			ICompilationUnit workingCopy = this.owner != null ? cu.findWorkingCopy(this.owner) : null;
+			return (workingCopy == null || !workingCopy.hasUnsavedChanges())
+				&& !(cu.isWorkingCopy() && cu.hasUnsavedChanges());
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.codeassist;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.jdt.internal.javac.JavaModelChanges;
+
+/**
+ * Keeps the last completion AST of the most recently completed units, so that the next completion
+ * in the same unit doesn't parse and attribute the whole unit again.
+ *
+ * An AST is only reused when the source didn't change and the completion happens in the same focal
+ * method (other method bodies are not attributed, see {@link org.eclipse.jdt.core.dom.ASTParser#setFocalPosition(int)}),
+ * eg for the different proposal computers of a single completion, or when completion is requested again
+ * at the same place. Any change of the source builds a new AST, as the javac trees, problems and bindings
+ * of the AST all depend on the source.
+ *
+ * Only the ASTs built by the completion engine itself are kept, not the ones shared with other clients of
+ * the model. An AST is taken out of the cache while a completion uses it, and given back afterwards, so
+ * that it's never used by concurrent completions. Entries are dropped on any Java model change affecting
+ * another unit.
+ */
+class DOMCompletionASTCache {
+
+	private static final int MAX_ENTRIES = 8;
+
+	/**
+	 * @param unit the model unit, or the file name when there is none
+	 */
+	private record Key(Object unit, IJavaProject project, WorkingCopyOwner owner) {
+	}
+
+	private record Entry(String source, CompilationUnit ast, int focalPosition) {
+	}
+
+	private static final Map<Key, Entry> ENTRIES = Collections.synchronizedMap(new LinkedHashMap<>(MAX_ENTRIES, .75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	});
+
+	static {
+		JavaModelChanges.addListener(DOMCompletionASTCache::elementChanged, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private DOMCompletionASTCache() {
+	}
+
+	/**
+	 * Takes the AST remembered for the given unit out of the cache.
+	 *
+	 * @param unit the model unit, or the file name when there is none
+	 * @param project the project of the unit
+	 * @param owner the working copy owner used to build the AST
+	 * @param source the current source of the unit
+	 * @param offset the completion offset
+	 * @return an AST of the given source suitable for completing at the given offset, or <code>null</code> if none
+	 * 	can be reused
+	 */
+	static CompilationUnit take(Object unit, IJavaProject project, WorkingCopyOwner owner, String source, int offset) {
+		Entry entry = ENTRIES.remove(new Key(unit, project, owner));
+		if (entry == null || !entry.source().equals(source)
+			|| focalMethod(entry.ast(), entry.focalPosition()) != focalMethod(entry.ast(), offset)) {
+			return null;
+		}
+		return entry.ast();
+	}
+
+	/**
+	 * Gives an AST built (or taken from this cache) for completion back to the cache.
+	 * The AST must not be shared with other clients, as it may be used again by another completion.
+	 *
+	 * @param unit the model unit, or the file name when there is none
+	 * @param project the project of the unit
+	 * @param owner the working copy owner used to build the AST
+	 * @param source the source the AST was built from
+	 * @param ast the AST
+	 * @param focalPosition the focal position the AST was built for
+	 */
+	static void remember(Object unit, IJavaProject project, WorkingCopyOwner owner, String source, CompilationUnit ast, int focalPosition) {
+		ENTRIES.put(new Key(unit, project, owner), new Entry(source, ast, focalPosition));
+	}
+
+	/**
+	 * @return the method whose body is attributed when the given position is the focal position, or <code>null</code>
+	 */
+	private static ASTNode focalMethod(CompilationUnit ast, int position) {
+		ASTNode res = null;
+		for (ASTNode node = NodeFinder.perform(ast, position, 0); node != null; node = node.getParent()) {
+			if (node instanceof MethodDeclaration) {
+				res = node;
+			}
+		}
+		return res;
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		if (ENTRIES.isEmpty()) {
+			return;
+		}
+		Set<IJavaElement> units = new HashSet<>();
+		if (collectUnits(event.getDelta(), units)) {
+			// the sources of the changed units are compared when taking their AST
+			synchronized (ENTRIES) {
+				ENTRIES.keySet().removeIf(key -> !units.contains(key.unit()));
+			}
+		} else {
+			ENTRIES.clear();
+		}
+	}
+
+	/**
+	 * @return whether the delta is only about changes in compilation units, which are collected
+	 */
+	private static boolean collectUnits(IJavaElementDelta delta, Set<IJavaElement> units) {
+		IJavaElement element = delta.getElement();
+		if (element.getElementType() >= IJavaElement.COMPILATION_UNIT) {
+			units.add(element.getAncestor(IJavaElement.COMPILATION_UNIT));
+			return true;
+		}
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0) {
+			return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!collectUnits(child, units)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
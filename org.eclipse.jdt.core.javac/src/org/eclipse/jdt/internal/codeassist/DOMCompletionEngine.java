@@ -29,8 +29,10 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -38,7 +40,6 @@ import javax.lang.model.SourceVersion;
 
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.CompletionFlags;
 import org.eclipse.jdt.core.CompletionProposal;
@@ -57,7 +58,6 @@ import org.eclipse.jdt.core.IModuleDescription;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
@@ -171,10 +171,7 @@ import org.eclipse.jdt.internal.codeassist.impl.Keywords;
 import org.eclipse.jdt.internal.codeassist.impl.RestrictedIdentifiers;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.parser.RecoveryScanner;
-import org.eclipse.jdt.internal.core.JarPackageFragmentRoot;
-import org.eclipse.jdt.internal.core.JavaElementRequestor;
-import org.eclipse.jdt.internal.core.JavaModelManager;
-import org.eclipse.jdt.internal.core.ModuleSourcePathManager;
+import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
 import org.eclipse.jdt.internal.core.SearchableEnvironment;
 import org.eclipse.jdt.internal.core.SourceType;
 import org.eclipse.jdt.internal.core.util.Messages;
@@ -222,7 +219,11 @@ public class DOMCompletionEngine implements ICompletionEngine {
 	private ExtendsOrImplementsInfo extendsOrImplementsInfo;
 	private DOMCompletionContext completionContext;
 
-	private Map<String, ITypeHierarchy> typeHierarchyCache = new HashMap<>();
+	private DOMCompletionSession session;
+	/**
+	 * Bindings of the Java model types proposed on the current AST, only used on the request thread
+	 */
+	private DOMBindingMaterializer bindingMaterializer;
 	private boolean suggestDefaultCompletions = true;
 
 	class Bindings {
@@ -373,23 +374,25 @@ public class DOMCompletionEngine implements ICompletionEngine {
 				Collection<? extends IBinding> gottenVisibleBindings = visibleBindings(current);
 				addAll(gottenVisibleBindings);
 				if (current instanceof AbstractTypeDeclaration typeDecl) {
-					processMembers(toComplete, typeDecl.resolveBinding(), this, false);
+					addAll(members(current, scope -> processMembers(toComplete, typeDecl.resolveBinding(), scope, false)));
 				} else if (current instanceof AnonymousClassDeclaration anonymousClass) {
-					processMembers(toComplete, anonymousClass.resolveBinding(), this, false);
+					addAll(members(current, scope -> processMembers(toComplete, anonymousClass.resolveBinding(), scope, false)));
 				} else if (current instanceof CompilationUnit cu) {
-					for (AbstractTypeDeclaration typeDecl : (List<AbstractTypeDeclaration>)cu.types()) {
-						this.add(typeDecl.resolveBinding());
-						// STATIC members only
-						processMembers(toComplete, typeDecl.resolveBinding(), this, true);
-					}
-					for (ImportDeclaration importDecl : (List<ImportDeclaration>)cu.imports()) {
-						if (!importDecl.isStatic() && !importDecl.isOnDemand()) {
-							IBinding importBinding = importDecl.resolveBinding();
-							if (importBinding != null && !importBinding.isRecovered()) {
-								this.add(importBinding);
+					addAll(members(current, scope -> {
+						for (AbstractTypeDeclaration typeDecl : (List<AbstractTypeDeclaration>)cu.types()) {
+							scope.add(typeDecl.resolveBinding());
+							// STATIC members only
+							processMembers(toComplete, typeDecl.resolveBinding(), scope, true);
+						}
+						for (ImportDeclaration importDecl : (List<ImportDeclaration>)cu.imports()) {
+							if (!importDecl.isStatic() && !importDecl.isOnDemand()) {
+								IBinding importBinding = importDecl.resolveBinding();
+								if (importBinding != null && !importBinding.isRecovered()) {
+									scope.add(importBinding);
+								}
 							}
 						}
-					}
+					}));
 				}
 				current = current.getParent();
 			}
@@ -403,58 +406,11 @@ public class DOMCompletionEngine implements ICompletionEngine {
 			Set<String> scopedVariables = variables().map(IBinding::getName).collect(Collectors.toSet());
 			Set<String> scopedTypes = all().filter(ITypeBinding.class::isInstance).map(IBinding::getName).collect(Collectors.toSet());
 
-			Set<IJavaElement> keysToResolve = new HashSet<>();
-			IJavaProject project = javaProject;
-			for (String favouriteReference: requestor.getFavoriteReferences()) {
-				if (favouriteReference.endsWith(".*")) { //$NON-NLS-1$
-					favouriteReference = favouriteReference.substring(0, favouriteReference.length() - 2);
-					String packageName = favouriteReference.indexOf('.') < 0 ? "" : favouriteReference.substring(0, favouriteReference.lastIndexOf('.')); //$NON-NLS-1$
-					String typeName = favouriteReference.indexOf('.') < 0 ? favouriteReference : favouriteReference.substring(favouriteReference.lastIndexOf('.') + 1);
-					findTypes(typeName, SearchPattern.R_EXACT_MATCH, IJavaSearchConstants.TYPE, packageName) //
-						.map(TypeNameMatch::getType)
-						.filter(type -> type.getElementName().equals(typeName))
-						.forEach(keysToResolve::add);
-				} else if (favouriteReference.lastIndexOf('.') >= 0) {
-					String memberName = favouriteReference.substring(favouriteReference.lastIndexOf('.') + 1);
-					String typeFqn = favouriteReference.substring(0, favouriteReference.lastIndexOf('.'));
-					String packageName = typeFqn.indexOf('.') < 0 ? "" : typeFqn.substring(0, typeFqn.lastIndexOf('.')); //$NON-NLS-1$
-					String typeName = typeFqn.indexOf('.') < 0 ? typeFqn : typeFqn.substring(typeFqn.lastIndexOf('.') + 1);
-					findTypes(typeName, SearchPattern.R_EXACT_MATCH, IJavaSearchConstants.TYPE, packageName) //
-						.map(TypeNameMatch::getType)
-						.filter(type -> type.getElementName().equals(typeName)) //
-						.findFirst().ifPresent(type -> {
-						try {
-							for (IMethod method : type.getMethods()) {
-								if (method.exists() && (method.getFlags() & Flags.AccStatic) != 0 && memberName.equals(method.getElementName())) {
-									keysToResolve.add(method);
-								}
-							}
-							IField field = type.getField(memberName);
-							if (field.exists() && (field.getFlags() & Flags.AccStatic) != 0) {
-								keysToResolve.add(type.getField(memberName));
-							}
-						} catch (JavaModelException e) {
-							// do nothing
-						}
-					});
-				}
-			}
-			Bindings favoriteBindings = new Bindings();
-			ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-			parser.setProject(project);
-			if (!keysToResolve.isEmpty()) {
-				IBinding[] bindings = parser.createBindings(keysToResolve.toArray(IJavaElement[]::new), monitor);
-				for (IBinding binding : bindings) {
-					if (binding instanceof ITypeBinding typeBinding) {
-						processMembers(toComplete, typeBinding, favoriteBindings, true);
-					} else if (binding instanceof IMethodBinding methodBinding) {
-						favoriteBindings.add(methodBinding);
-					} else {
-						favoriteBindings.add(binding);
-					}
-				}
-			}
-			favoriteBindings.all()
+			Supplier<List<IBinding>> favoriteBindingsComputer = this::resolveFavoriteBindings;
+			List<IBinding> favoriteBindings = DOMCompletionEngine.this.session != null ?
+					DOMCompletionEngine.this.session.favoriteBindings(requestor.getFavoriteReferences(), favoriteBindingsComputer) :
+					favoriteBindingsComputer.get();
+			favoriteBindings.stream()
 				.filter(binding -> {
 					if (binding instanceof IMethodBinding) {
 						return !scopedMethods.contains(binding.getName());
@@ -466,6 +422,97 @@ public class DOMCompletionEngine implements ICompletionEngine {
 				.forEach(this::add);
 		}
 
+		/**
+		 * Collects the bindings contributed by the given declaration. They are computed in a separate
+		 * scope so they can be shared with the next completion requests of the current session, and
+		 * then added in the same order to preserve shadowing and overriding.
+		 */
+		private List<IBinding> members(ASTNode declaration, Consumer<Bindings> computer) {
+			Supplier<List<IBinding>> collect = () -> {
+				Bindings scope = new Bindings();
+				computer.accept(scope);
+				return scope.others;
+			};
+			return DOMCompletionEngine.this.session != null ?
+					DOMCompletionEngine.this.session.members(declaration, collect) :
+					collect.get();
+		}
+
+		private List<IBinding> resolveFavoriteBindings() {
+			Bindings favoriteBindings = new Bindings();
+			IJavaElement[] elements = DOMFavoriteMembersIndex.favoriteElements(javaProject, workingCopyOwner, requestor.getFavoriteReferences(), DOMCompletionEngine.this::findFavoriteElements);
+			// the favorite types, or the declaring types of the favorite members, materialized together
+			IType[] types = new IType[elements.length];
+			for (int i = 0; i < elements.length; i++) {
+				types[i] = elements[i] instanceof IType type ? type
+						: elements[i] instanceof IMember member ? member.getDeclaringType()
+						: null;
+			}
+			ITypeBinding[] typeBindings = materializeBindings(Arrays.stream(types).filter(Objects::nonNull).toArray(IType[]::new));
+			for (int i = 0, j = 0; i < elements.length; i++) {
+				IJavaElement element = elements[i];
+				ITypeBinding typeBinding = types[i] != null ? typeBindings[j++] : null;
+				if (typeBinding == null) {
+					continue;
+				}
+				if (element instanceof IType) {
+					processMembers(toComplete, typeBinding, favoriteBindings, true);
+				} else if (element instanceof IMethod) {
+					// bindings of the members are created from their declaring type, in the context of the completion
+					Arrays.stream(typeBinding.getDeclaredMethods())
+						.filter(method -> Modifier.isStatic(method.getModifiers()) && method.getName().equals(element.getElementName()))
+						.forEach(favoriteBindings::add);
+				} else if (element instanceof IField) {
+					Arrays.stream(typeBinding.getDeclaredFields())
+						.filter(field -> Modifier.isStatic(field.getModifiers()) && field.getName().equals(element.getElementName()))
+						.forEach(favoriteBindings::add);
+				}
+			}
+			return favoriteBindings.all().toList();
+		}
+
+	}
+
+	/**
+	 * @return the types (for on-demand references) and static members referenced by the given favorite references
+	 */
+	private Collection<IJavaElement> findFavoriteElements(String[] favoriteReferences) {
+		Set<IJavaElement> keysToResolve = new HashSet<>();
+		for (String favouriteReference: favoriteReferences) {
+			if (favouriteReference.endsWith(".*")) { //$NON-NLS-1$
+				favouriteReference = favouriteReference.substring(0, favouriteReference.length() - 2);
+				String packageName = favouriteReference.indexOf('.') < 0 ? "" : favouriteReference.substring(0, favouriteReference.lastIndexOf('.')); //$NON-NLS-1$
+				String typeName = favouriteReference.indexOf('.') < 0 ? favouriteReference : favouriteReference.substring(favouriteReference.lastIndexOf('.') + 1);
+				findTypes(typeName, SearchPattern.R_EXACT_MATCH, IJavaSearchConstants.TYPE, packageName) //
+					.map(TypeNameMatch::getType)
+					.filter(type -> type.getElementName().equals(typeName))
+					.forEach(keysToResolve::add);
+			} else if (favouriteReference.lastIndexOf('.') >= 0) {
+				String memberName = favouriteReference.substring(favouriteReference.lastIndexOf('.') + 1);
+				String typeFqn = favouriteReference.substring(0, favouriteReference.lastIndexOf('.'));
+				String packageName = typeFqn.indexOf('.') < 0 ? "" : typeFqn.substring(0, typeFqn.lastIndexOf('.')); //$NON-NLS-1$
+				String typeName = typeFqn.indexOf('.') < 0 ? typeFqn : typeFqn.substring(typeFqn.lastIndexOf('.') + 1);
+				findTypes(typeName, SearchPattern.R_EXACT_MATCH, IJavaSearchConstants.TYPE, packageName) //
+					.map(TypeNameMatch::getType)
+					.filter(type -> type.getElementName().equals(typeName)) //
+					.findFirst().ifPresent(type -> {
+					try {
+						for (IMethod method : type.getMethods()) {
+							if (method.exists() && (method.getFlags() & Flags.AccStatic) != 0 && memberName.equals(method.getElementName())) {
+								keysToResolve.add(method);
+							}
+						}
+						IField field = type.getField(memberName);
+						if (field.exists() && (field.getFlags() & Flags.AccStatic) != 0) {
+							keysToResolve.add(type.getField(memberName));
+						}
+					} catch (JavaModelException e) {
+						// do nothing
+					}
+				});
+			}
+		}
+		return keysToResolve;
 	}
 
 	public DOMCompletionEngine(SearchableEnvironment nameEnvironment, CompletionRequestor requestor, Map<String, String> settings, IJavaProject javaProject, WorkingCopyOwner workingCopyOwner, IProgressMonitor monitor) {
@@ -696,6 +743,9 @@ public class DOMCompletionEngine implements ICompletionEngine {
 		this.requestor.beginReporting();
 
 		this.modelUnit = root;
+		Object astUnit;
+		IJavaProject astProject;
+		boolean ownsAST;
 		if (modelUnit != null) {
 			try {
 				this.textContent = new String(this.modelUnit.getBuffer().getCharacters());
@@ -704,15 +754,26 @@ public class DOMCompletionEngine implements ICompletionEngine {
 				ILog.get().error("unable to access buffer for completion", e); //$NON-NLS-1$
 			}
 			this.offset = completionPosition;
+			astUnit = this.modelUnit;
+			astProject = root.getJavaProject();
+			if (isNothingToComplete(astProject)) {
+				return;
+			}
+			ownsAST = false;
 			if (modelUnit instanceof org.eclipse.jdt.internal.core.CompilationUnit modelCU) {
 				try {
+					// shared with other clients of the model, so not given to DOMCompletionASTCache
 					this.unit = modelCU.getOrBuildAST(this.workingCopyOwner, completionPosition);
 				} catch (JavaModelException e) {
 					// do nothing
 				}
 			}
 			if (this.unit == null) {
-				this.unit = getCompletionAST(this.modelUnit, root.getJavaProject(), this.workingCopyOwner, completionPosition);
+				this.unit = DOMCompletionASTCache.take(astUnit, astProject, this.workingCopyOwner, this.textContent, completionPosition);
+				if (this.unit == null) {
+					this.unit = getCompletionAST(this.modelUnit, root.getJavaProject(), this.workingCopyOwner, completionPosition);
+				}
+				ownsAST = this.unit != null;
 			}
 			if (this.unit == null) {
 				return;
@@ -720,15 +781,27 @@ public class DOMCompletionEngine implements ICompletionEngine {
 		} else {
 			this.textContent = new String(sourceUnit.getContents());
 			this.offset = completionPosition;
+			astUnit = new String(sourceUnit.getFileName());
+			astProject = this.javaProject;
+			if (isNothingToComplete(astProject)) {
+				return;
+			}
+			ownsAST = this.unit == null;
+			if (this.unit == null) {
+				this.unit = DOMCompletionASTCache.take(astUnit, astProject, this.workingCopyOwner, this.textContent, completionPosition);
+			}
 			if (this.unit == null) {
 				this.unit = getCompletionAST(sourceUnit.getContents(), sourceUnit.getFileName(), this.javaProject, this.workingCopyOwner, completionPosition);
 			}
+			ownsAST &= this.unit != null;
 		}
 
 		try {
 			defaultCompletionBindings = new Bindings();
 			defaultCompletionBindings.requestAccessibleBindings(); // will be used by DOMCompletionContext.getVisibleElements(), necessary for method parameter value suggestion
 			this.completionContext = new DOMCompletionContext(this.unit, this.modelUnit, this.textContent, this.offset, this.assistOptions, defaultCompletionBindings);
+			this.session = DOMCompletionSession.of(this.unit, this.textContent, this.completionContext.node);
+			this.completionContext.expectedTypes.setSession(this.session);
 			this.nestedEngine.completionToken = completionContext.getToken();
 			this.nestedEngine.options = this.assistOptions;
 			this.requestor.acceptContext(completionContext);
@@ -1045,28 +1118,33 @@ public class DOMCompletionEngine implements ICompletionEngine {
 			}
 
 			if (suggestDefaultCompletions) {
-				statementLikeKeywords();
-				if (this.expectedTypes.getExpectedTypes().size() == 1 && toComplete instanceof SimpleName) {
-					ITypeBinding expected = this.expectedTypes.getExpectedTypes().getFirst();
-					if (expected.isEnum()) {
-						Arrays.stream(expected.getDeclaredFields())
-							.filter(field -> field.getName().startsWith(this.prefix))
-							.map(this::toProposal)
-							.forEach(this.requestor::accept);
+				final int typeMatchRule = this.toComplete.getParent() instanceof Annotation
+						? IJavaSearchConstants.ANNOTATION_TYPE
+						: IJavaSearchConstants.TYPE;
+				// the search for types is usually the slowest producer, start it while the others run
+				DOMCompletionExecutor.Task<List<TypeNameMatch>> typeCandidates = !completeAfter.isBlank() && !this.requestor.isIgnored(CompletionProposal.TYPE_REF)
+						? DOMCompletionExecutor.submit(searchMonitor -> searchTypes(completeAfter, -1, typeMatchRule, null, searchMonitor).toList())
+						: null;
+				try {
+					statementLikeKeywords();
+					if (this.expectedTypes.getExpectedTypes().size() == 1 && toComplete instanceof SimpleName) {
+						ITypeBinding expected = this.expectedTypes.getExpectedTypes().getFirst();
+						if (expected.isEnum()) {
+							Arrays.stream(expected.getDeclaredFields())
+								.filter(field -> field.getName().startsWith(this.prefix))
+								.map(this::toProposal)
+								.forEach(this.requestor::accept);
+						}
 					}
-				}
-				if (!this.prefix.isEmpty() && this.extendsOrImplementsInfo == null) {
-					suggestTypeKeywords(DOMCompletionUtils.findParent(this.toComplete, new int[] { ASTNode.BLOCK }) == null);
-				}
-				publishFromScope(defaultCompletionBindings);
-				suggestSuperConstructors();
-				if (!completeAfter.isBlank()) {
-					final int typeMatchRule = this.toComplete.getParent() instanceof Annotation
-							? IJavaSearchConstants.ANNOTATION_TYPE
-							: IJavaSearchConstants.TYPE;
-					if (!this.requestor.isIgnored(CompletionProposal.TYPE_REF)) {
+					if (!this.prefix.isEmpty() && this.extendsOrImplementsInfo == null) {
+						suggestTypeKeywords(DOMCompletionUtils.findParent(this.toComplete, new int[] { ASTNode.BLOCK }) == null);
+					}
+					publishFromScope(defaultCompletionBindings);
+					suggestSuperConstructors();
+					if (typeCandidates != null) {
 						final Set<String> alreadySuggestedFqn = ConcurrentHashMap.newKeySet();
-						findTypes(completeAfter, -1, typeMatchRule, null)
+						bestTypes(typeCandidates.join(this.monitor).stream()
+							.filter(this::isVisible)
 							.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray()))
 							.filter(typeMatch -> {
 								for (var scrapedBinding : defaultCompletionBindings.all().toList()) {
@@ -1084,9 +1162,14 @@ public class DOMCompletionEngine implements ICompletionEngine {
 								}
 								alreadySuggestedFqn.add(typeMatch.getType().getFullyQualifiedName());
 								return true;
-							}).map(this::toProposal)
+							})).map(this::toProposal)
 							.forEach(this.requestor::accept);
 					}
+				} finally {
+					// don't leave the search running (or waiting) when the completion failed
+					if (typeCandidates != null) {
+						typeCandidates.cancel();
+					}
 				}
 				checkCancelled();
 				if (shouldSuggestPackages(toComplete)) {
@@ -1098,6 +1181,9 @@ public class DOMCompletionEngine implements ICompletionEngine {
 		} catch (JavaModelException e) {
 			ILog.get().error(e.getMessage(), e);
 		} finally {
+			if (ownsAST) {
+				DOMCompletionASTCache.remember(astUnit, astProject, this.workingCopyOwner, this.textContent, this.unit, this.offset);
+			}
 			this.requestor.endReporting();
 			if (this.monitor != null) {
 				this.monitor.done();
@@ -1105,6 +1191,25 @@ public class DOMCompletionEngine implements ICompletionEngine {
 		}
 	}
 
+	/**
+	 * Checks, before any AST is built, whether the completion position is known to produce no proposal
+	 * (eg in a comment or in a text block) or only proposals the requestor ignores and, if so, ends the completion.
+	 *
+	 * @return whether the completion is over
+	 * @see DOMCompletionPrefilter
+	 */
+	private boolean isNothingToComplete(IJavaProject project) {
+		if (project == null || DOMCompletionPrefilter.mayProduceProposals(this.textContent.toCharArray(), this.offset, project.getOptions(true), this.requestor)) {
+			return false;
+		}
+		this.requestor.acceptContext(DOMCompletionPrefilter.tokenContext(this.textContent, this.offset));
+		this.requestor.endReporting();
+		if (this.monitor != null) {
+			this.monitor.done();
+		}
+		return true;
+	}
+
 	private void completeEnumConstantDeclaration() {
 		this.suggestDefaultCompletions = false;
 	}
@@ -1309,7 +1414,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 			// Type search for more exceptions if there is search text
 			if (!completionContext.getTokenString().isBlank()) {
 				Set<String> alreadySuggestedFqn = ConcurrentHashMap.newKeySet();
-				findTypes(completionContext.getTokenString(), null)
+				bestTypes(findTypes(completionContext.getTokenString(), null)
 					.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(),
 							typeMatch.getType().getElementName().toCharArray()))
 					.filter(typeMatch -> {
@@ -1342,7 +1447,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 						}
 						alreadySuggestedFqn.add(typeMatch.getType().getFullyQualifiedName());
 						return true;
-					})
+					}))
 					.map(this::toProposal).forEach(this.requestor::accept);
 			}
 			suggestDefaultCompletions = false;
@@ -1563,10 +1668,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 						} else {
 							typeToComplete = potentialTypes.get(0);
 						}
-						ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-						parser.setProject(this.javaProject);
-						IBinding[] createdBindings = parser.createBindings(new IType[] { typeToComplete }, new NullProgressMonitor());
-						if (createdBindings.length > 0 && createdBindings[0] instanceof ITypeBinding typeBinding) {
+						if (materializeBinding(typeToComplete) instanceof ITypeBinding typeBinding) {
 							potentialMethodCompletions = Stream.of(typeBinding.getDeclaredMethods()) //
 									.filter(methodCandidate -> {
 										if (!expectedMethodName.equals(methodCandidate.getName())) {
@@ -1601,8 +1703,8 @@ public class DOMCompletionEngine implements ICompletionEngine {
 					.map(this::toProposal)
 					.forEach(this.requestor::accept);
 			} else {
-				findTypes(completionContext.getTokenString(), null)
-					.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray()))
+				bestTypes(findTypes(completionContext.getTokenString(), null)
+					.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray())))
 					.map(this::toProposal)
 					.forEach(this.requestor::accept);
 			}
@@ -1791,10 +1893,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 									} else {
 										typeToComplete = potentialTypes.get(0);
 									}
-									ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-									parser.setProject(this.javaProject);
-									IBinding[] createdBindings = parser.createBindings(new IType[] { typeToComplete }, new NullProgressMonitor());
-									if (createdBindings.length > 0 && createdBindings[0] instanceof ITypeBinding typeBinding) {
+									if (materializeBinding(typeToComplete) instanceof ITypeBinding typeBinding) {
 										Bindings javadocScope = new Bindings();
 										processMembers(this.toComplete, typeBinding, javadocScope, false);
 										publishFromScope(javadocScope);
@@ -1829,8 +1928,8 @@ public class DOMCompletionEngine implements ICompletionEngine {
 									if (packagePrefix.contains(".")) {
 										String typeName = packagePrefix.substring(packagePrefix.lastIndexOf('.') + 1);
 										String packageName = packagePrefix.substring(0, packagePrefix.lastIndexOf('.'));
-										findTypes(typeName, packageName)
-											.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray()))
+										bestTypes(findTypes(typeName, packageName)
+											.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray())))
 											.map(this::toProposal).forEach(this.requestor::accept);
 									}
 								}
@@ -1852,11 +1951,11 @@ public class DOMCompletionEngine implements ICompletionEngine {
 									.map(this::toProposal).forEach(this.requestor::accept);
 
 								if (!this.prefix.isEmpty()) {
-									findTypes(completionContext.getTokenString(), completionContext.getTokenString().equals(this.qualifiedPrefix) ? null : this.qualifiedPrefix)
+									bestTypes(findTypes(completionContext.getTokenString(), completionContext.getTokenString().equals(this.qualifiedPrefix) ? null : this.qualifiedPrefix)
 										.filter(typeMatch -> {
 											return localTypeBindings.all().map(typeBinding -> typeBinding.getJavaElement()).noneMatch(elt -> typeMatch.getType().equals(elt));
 										})
-										.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray()))
+										.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray())))
 										.map(this::toProposal).forEach(this.requestor::accept);
 								}
 
@@ -1880,8 +1979,8 @@ public class DOMCompletionEngine implements ICompletionEngine {
 								.map(this::toProposal)
 								.forEach(this.requestor::accept);
 						} else {
-							findTypes(completionContext.getTokenString(), null)
-								.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray()))
+							bestTypes(findTypes(completionContext.getTokenString(), null)
+								.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray())))
 								.map(this::toProposal)
 								.forEach(this.requestor::accept);
 						}
@@ -1958,11 +2057,11 @@ public class DOMCompletionEngine implements ICompletionEngine {
 				});
 
 			if (!this.prefix.isEmpty()) {
-				findTypes(completionContext.getTokenString(), completionContext.getTokenString().equals(this.qualifiedPrefix) ? null : this.qualifiedPrefix)
+				bestTypes(findTypes(completionContext.getTokenString(), completionContext.getTokenString().equals(this.qualifiedPrefix) ? null : this.qualifiedPrefix)
 					.filter(typeMatch -> {
 						return localTypeBindings.all().map(typeBinding -> typeBinding.getJavaElement()).noneMatch(elt -> typeMatch.getType().equals(elt));
 					})
-					.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray()))
+					.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray())))
 					.forEach(type -> {
 						DOMInternalCompletionProposal typeProposal = (DOMInternalCompletionProposal)this.toProposal(type);
 						this.requestor.accept(typeProposal);
@@ -2043,14 +2142,14 @@ public class DOMCompletionEngine implements ICompletionEngine {
 			if (packageDecl != null) {
 				packageName = packageDecl.getName().toString();
 			}
-			this.findTypes(this.prefix, packageName)
+			bestTypes(this.findTypes(this.prefix, packageName)
 					.filter(typeMatch -> {
 						try {
 							return !typeMatch.getType().isAnnotation();
 						} catch (JavaModelException e) {
 							return true;
 						}
-					}) //
+					})) //
 					.flatMap(typeMatch -> {
 						if (this.prefix.isEmpty()) {
 							return Stream.of(toProposal(typeMatch.getType()));
@@ -2346,12 +2445,8 @@ public class DOMCompletionEngine implements ICompletionEngine {
 					foundTypes = foundTypes.stream().filter(type -> type.getElementName().equals(qualifiedName.getQualifier().toString())).toList();
 					if (!foundTypes.isEmpty()) {
 						IType firstType = foundTypes.get(0);
-						ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-						parser.setWorkingCopyOwner(this.workingCopyOwner);
-						parser.setProject(this.javaProject);
-						IBinding[] descendantBindings = parser.createBindings(new IType[] { firstType }, new NullProgressMonitor());
-						if (descendantBindings.length == 1) {
-							ITypeBinding qualifierTypeBinding = (ITypeBinding)descendantBindings[0];
+						ITypeBinding qualifierTypeBinding = materializeBinding(firstType);
+						if (qualifierTypeBinding != null) {
 							processMembers(qualifiedName, qualifierTypeBinding, specificCompletionBindings, true);
 							specificCompletionBindings.toProposals().map(prop -> {
 								int rating = prop.getRelevance() + RelevanceConstants.R_NON_INHERITED + RelevanceConstants.R_NO_PROBLEMS;
@@ -2490,7 +2585,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 			suggestTypeKeywords(true);
 			suggestModifierKeywords(bodyDeclaration.getModifiers());
 			if (!this.requestor.isIgnored(CompletionProposal.TYPE_REF)) {
-				findTypes(this.prefix, null)
+				bestTypes(findTypes(this.prefix, null)
 					// don't care about annotations
 					.filter(typeMatch -> {
 						try {
@@ -2501,7 +2596,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 					})
 					// no need to filter out defaults, since we aren't performing default completion
 					.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(), typeMatch.getType().getElementName().toCharArray()))
-					.filter(typeMatch -> filterBasedOnExtendsOrImplementsInfo(typeMatch.getType(), this.extendsOrImplementsInfo))
+					.filter(typeMatch -> filterBasedOnExtendsOrImplementsInfo(typeMatch.getType(), this.extendsOrImplementsInfo)))
 					.map(this::toProposal)
 					.forEach(this.requestor::accept);
 			}
@@ -2565,7 +2660,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 		}
 		if (simpleName.getParent() instanceof SimpleType simpleType && simpleType.getParent() instanceof MethodDeclaration
 				&& simpleType.getLocationInParent().getId().equals(MethodDeclaration.THROWN_EXCEPTION_TYPES_PROPERTY.getId())) {
-			findTypes(completionContext.getTokenString(), null)
+			bestTypes(findTypes(completionContext.getTokenString(), null)
 					.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(),
 							typeMatch.getType().getElementName().toCharArray()))
 					// ideally we should filter out all classes that don't descend from Throwable
@@ -2576,7 +2671,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 						} catch (JavaModelException e) {
 							return true;
 						}
-					})
+					}))
 					.map(this::toProposal).forEach(this.requestor::accept);
 			suggestDefaultCompletions = false;
 		}
@@ -3579,11 +3674,8 @@ public class DOMCompletionEngine implements ICompletionEngine {
 
 	private void checkCancelled() {
 		if (this.requestor.isIgnored(CompletionProposal.TYPE_REF)) {
-			// FIXME:
-			// JDT expects completion to never throw in this case since its normally very fast.
-			// To fix this we need to:
-			// - making completion faster by skipping most steps when not really completing anything
-			// - consider catching the OperationCanceledException() in the cases where it's expected to be thrown upstream (jdt.ui)
+			// requestors ignoring types expect completion to never throw, as it's then normally very fast:
+			// positions where none of their kinds can be proposed return before the AST is built (see isNothingToComplete)
 			return;
 		}
 		if (this.monitor != null && this.monitor.isCanceled()) {
@@ -4034,9 +4126,9 @@ public class DOMCompletionEngine implements ICompletionEngine {
 	}
 
 	private void completeMarkerAnnotation() {
-		findTypes(completionContext.getTokenString(), -1, IJavaSearchConstants.ANNOTATION_TYPE, null)
+		bestTypes(findTypes(completionContext.getTokenString(), -1, IJavaSearchConstants.ANNOTATION_TYPE, null)
 			.filter(typeMatch -> this.pattern.matchesName(this.prefix.toCharArray(),
-					typeMatch.getType().getElementName().toCharArray()))
+					typeMatch.getType().getElementName().toCharArray())))
 			.map(this::toProposal).forEach(this.requestor::accept);
 		suggestDefaultCompletions = false;
 	}
@@ -4073,13 +4165,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 		IType enclosingTypeElement = (IType) enclosingTypeBinding.getJavaElement();
 		if (typeBinding.getJavaElement() instanceof IType typeHandle) {
 			try {
-				ITypeHierarchy newTypeHierarchy = typeHandle.newTypeHierarchy(javaProject, null);
-				ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-				parser.setProject(javaProject);
-				List<IType> subtypes = new ArrayList<>();
-				for (IType subtype : newTypeHierarchy.getSubtypes(typeHandle)) {
-					subtypes.add(subtype);
-				}
+				List<IType> subtypes = new ArrayList<>(DOMTypeHierarchyCache.directSubtypes(typeHandle, javaProject));
 				// Include the current type as a possible constructor suggestion
 				// if the current text doesn't exactly match an existing type.
 				// This is suggested regardless if it's appropriate according to the expected type.
@@ -4237,61 +4323,105 @@ public class DOMCompletionEngine implements ICompletionEngine {
 		}
 	}
 
+	/**
+	 * @return the type matches worth turning into proposals, best first if they are limited
+	 * @see DOMTopCandidates
+	 */
+	private Stream<TypeNameMatch> bestTypes(Stream<TypeNameMatch> types) {
+		return DOMTopCandidates.best(types, this::estimateRelevance,
+				Comparator.comparing(TypeNameMatch::getSimpleTypeName).thenComparing(TypeNameMatch::getFullyQualifiedName));
+	}
+
+	/**
+	 * @return an estimation of the relevance of the proposal for the given type,
+	 * 	only using what the match already knows (no Java model nor binding access)
+	 */
+	private int estimateRelevance(TypeNameMatch match) {
+		String packageName = match.getPackageName();
+		String qualifiedName = match.getFullyQualifiedName().replace('$', '.');
+		IPackageBinding currentPackage = completionContext.getCurrentTypeBinding() == null ? null : completionContext.getCurrentTypeBinding().getPackage();
+		boolean inSamePackage = currentPackage != null && currentPackage.getName().equals(packageName);
+		int relevance = RelevanceConstants.R_DEFAULT;
+		relevance += RelevanceConstants.R_RESOLVED;
+		relevance += RelevanceUtils.computeRelevanceForRestrictions(match.getAccessibility(), this.settings);
+		relevance += RelevanceUtils.computeRelevanceForCaseMatching(this.prefix.toCharArray(), match.getSimpleTypeName().toCharArray(), this.assistOptions);
+		relevance += RelevanceUtils.computeRelevanceForQualification(!"java.lang".equals(packageName) && !inSamePackage, this.prefix, this.qualifiedPrefix); //$NON-NLS-1$
+		if (qualifiedName.startsWith("java.")) { //$NON-NLS-1$
+			relevance += RelevanceConstants.R_JAVA_LIBRARY;
+		}
+		if (this.expectedTypes != null) {
+			for (ITypeBinding expectedType : this.expectedTypes.getExpectedTypes()) {
+				if (expectedType != null && expectedType.getErasure() != null && qualifiedName.equals(expectedType.getErasure().getQualifiedName())) {
+					relevance += RelevanceConstants.R_EXACT_EXPECTED_TYPE;
+					break;
+				}
+			}
+		}
+		return relevance;
+	}
+
+	/**
+	 * @return the binding for the given type, resolved in the context of the completion AST when possible
+	 * @see DOMBindingMaterializer
+	 */
+	private ITypeBinding materializeBinding(IType type) {
+		return materializeBindings(type)[0];
+	}
+
+	/**
+	 * @return the bindings for the given types, in the same order, resolved together
+	 * @see DOMBindingMaterializer
+	 */
+	private ITypeBinding[] materializeBindings(IType... types) {
+		if (this.bindingMaterializer == null || !this.bindingMaterializer.isFor(this.unit)) {
+			this.bindingMaterializer = new DOMBindingMaterializer(this.unit, this.javaProject, this.workingCopyOwner);
+		}
+		return this.bindingMaterializer.typeBindings(types);
+	}
+
 	private Stream<TypeNameMatch> findTypes(String namePrefix, String packageName) {
 		return findTypes(namePrefix, -1, IJavaSearchConstants.TYPE, packageName);
 	}
 
 	private Stream<TypeNameMatch> findTypes(String namePrefix, int typeMatchRule, int searchFor, String packageName) {
+		return searchTypes(namePrefix, typeMatchRule, searchFor, packageName, this.monitor).filter(this::isVisible);
+	}
+
+	/**
+	 * Same as {@link #findTypes(String, int, int, String)} without the visibility check, which needs bindings:
+	 * only accesses the Java model, so can run outside of the request thread.
+	 *
+	 * @param searchMonitor the monitor canceling the search, can be <code>null</code>
+	 */
+	private Stream<TypeNameMatch> searchTypes(String namePrefix, int typeMatchRule, int searchFor, String packageName, IProgressMonitor searchMonitor) {
 		if (namePrefix == null) {
 			namePrefix = ""; //$NON-NLS-1$
 		}
+		int matchRule = typeMatchRule >= 0 ? typeMatchRule :
+			SearchPattern.R_PREFIX_MATCH
+				| (this.assistOptions.substringMatch ? SearchPattern.R_SUBSTRING_MATCH : 0)
+				| (this.assistOptions.subwordMatch ? SearchPattern.R_SUBWORD_MATCH : 0)
+				| (this.assistOptions.camelCaseMatch ? SearchPattern.R_CAMELCASE_MATCH : 0);
+		WorkingCopyOwner owner = this.modelUnit instanceof ICompilationUnit modelCU ? modelCU.getOwner() : this.workingCopyOwner;
+		if ((owner == null || owner == DefaultWorkingCopyOwner.PRIMARY) && namePrefix.indexOf('.') < 0 && DOMTypeNameIndex.supports(searchFor)) {
+			DOMTypeNameIndex index = DOMTypeNameIndex.get(this.javaProject);
+			if (index != null) {
+				return index.find(packageName, namePrefix, matchRule, searchFor);
+			}
+		}
 		List<TypeNameMatch> types = new ArrayList<>();
 		var searchScope = SearchEngine.createJavaSearchScope(new IJavaElement[] { this.javaProject });
 		TypeNameMatchRequestor typeRequestor = new TypeNameMatchRequestor() {
 			@Override
 			public void acceptTypeNameMatch(TypeNameMatch match) {
-				if (isVisible(match)) {
-					types.add(match);
-				}
-			}
-			private boolean isVisible(TypeNameMatch match) {
-				if (!DOMCompletionEngine.this.settings.get(JavaCore.COMPILER_PB_FORBIDDEN_REFERENCE).equals(JavaCore.IGNORE)
-						&& DOMCompletionEngine.this.assistOptions.checkForbiddenReference
-						&& match.getAccessibility() == IAccessRule.K_NON_ACCESSIBLE) {
-					return false;
-				}
-				if (!DOMCompletionEngine.this.settings.get(JavaCore.COMPILER_PB_DISCOURAGED_REFERENCE).equals(JavaCore.IGNORE)
-						&& DOMCompletionEngine.this.assistOptions.checkDiscouragedReference
-						&& match.getAccessibility() == IAccessRule.K_DISCOURAGED) {
-					return false;
-				}
-				if (match.getPackageName().isEmpty() && !completionContext.getCurrentTypeBinding().getPackage().getName().isEmpty()) {
-					// can only access classes in the default package from the default package
-					return false;
-				}
-				if (Flags.isPublic(match.getModifiers())) {
-					return true;
-				}
-				if (Flags.isPrivate(match.getModifiers())) {
-					return modelUnit.equals(match.getType().getTypeRoot());
-				}
-				if (Flags.isProtected(match.getModifiers())) {
-					IType nestingType = match.getType().getDeclaringType();
-					return nestingType != null && DOMCompletionUtils.findInSupers(completionContext.getCurrentTypeBinding(), nestingType.getKey());
-				}
-				return match.getPackageName().equals(modelUnit.getAncestor(IJavaElement.PACKAGE_FRAGMENT).getElementName());
+				types.add(match);
 			}
 		};
 		try {
-			new SearchEngine(this.modelUnit instanceof ICompilationUnit modelCU ? modelCU.getOwner() : this.workingCopyOwner).searchAllTypeNames(
+			new SearchEngine(owner).searchAllTypeNames(
 					packageName == null ? null : packageName.toCharArray(), SearchPattern.R_EXACT_MATCH,
-					namePrefix.toCharArray(),
-					typeMatchRule >= 0 ? typeMatchRule :
-						SearchPattern.R_PREFIX_MATCH
-							| (this.assistOptions.substringMatch ? SearchPattern.R_SUBSTRING_MATCH : 0)
-							| (this.assistOptions.subwordMatch ? SearchPattern.R_SUBWORD_MATCH : 0)
-							| (this.assistOptions.camelCaseMatch ? SearchPattern.R_CAMELCASE_MATCH : 0),
-					searchFor, searchScope, typeRequestor, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, null);
+					namePrefix.toCharArray(), matchRule,
+					searchFor, searchScope, typeRequestor, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, searchMonitor);
 			// TODO also resolve potential sub-packages
 		} catch (JavaModelException ex) {
 			ILog.get().error(ex.getMessage(), ex);
@@ -4299,6 +4429,34 @@ public class DOMCompletionEngine implements ICompletionEngine {
 		return types.stream();
 	}
 
+	private boolean isVisible(TypeNameMatch match) {
+		if (!this.settings.get(JavaCore.COMPILER_PB_FORBIDDEN_REFERENCE).equals(JavaCore.IGNORE)
+				&& this.assistOptions.checkForbiddenReference
+				&& match.getAccessibility() == IAccessRule.K_NON_ACCESSIBLE) {
+			return false;
+		}
+		if (!this.settings.get(JavaCore.COMPILER_PB_DISCOURAGED_REFERENCE).equals(JavaCore.IGNORE)
+				&& this.assistOptions.checkDiscouragedReference
+				&& match.getAccessibility() == IAccessRule.K_DISCOURAGED) {
+			return false;
+		}
+		if (match.getPackageName().isEmpty() && !completionContext.getCurrentTypeBinding().getPackage().getName().isEmpty()) {
+			// can only access classes in the default package from the default package
+			return false;
+		}
+		if (Flags.isPublic(match.getModifiers())) {
+			return true;
+		}
+		if (Flags.isPrivate(match.getModifiers())) {
+			return modelUnit.equals(match.getType().getTypeRoot());
+		}
+		if (Flags.isProtected(match.getModifiers())) {
+			IType nestingType = match.getType().getDeclaringType();
+			return nestingType != null && DOMCompletionUtils.findInSupers(completionContext.getCurrentTypeBinding(), nestingType.getKey());
+		}
+		return match.getPackageName().equals(modelUnit.getAncestor(IJavaElement.PACKAGE_FRAGMENT).getElementName());
+	}
+
 	private void processMembers(ASTNode referencedFrom, ITypeBinding typeBinding, Bindings scope, boolean isStaticContext) {
 		if (typeBinding == null) {
 			return;
@@ -4935,7 +5093,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 		relevance += RelevanceConstants.R_RESOLVED;
 //		relevance += RelevanceUtils.computeRelevanceForInteresting(type, expectedTypes);
 		relevance += RelevanceUtils.computeRelevanceForRestrictions(type.getAccessibility(), this.settings);
-//		relevance += (isExceptionExpected && DOMCompletionUtils.findInSupers(type, "Ljava/lang/Exception;", this.workingCopyOwner, this.typeHierarchyCache) ? RelevanceConstants.R_EXCEPTION : 0);
+//		relevance += (isExceptionExpected && DOMCompletionUtils.findInSupers(type, "Ljava/lang/Exception;", this.workingCopyOwner) ? RelevanceConstants.R_EXCEPTION : 0);
 //		relevance += RelevanceUtils.computeRelevanceForInheritance(this.qualifyingType, type);
 		relevance += RelevanceUtils.computeRelevanceForQualification(!"java.lang".equals(type.getPackageName()) && !nodeInImports && !fromCurrentCU && !inSamePackage && !typeIsImported, this.prefix, this.qualifiedPrefix);
 		if (type.getFullyQualifiedName().startsWith("java.")
@@ -4943,7 +5101,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 			relevance += RelevanceConstants.R_JAVA_LIBRARY;
 		}
 		// sometimes subclasses and superclasses are considered, sometimes they aren't
-//		relevance += (isExceptionExpected ? RelevanceUtils.computeRelevanceForExpectingType(type, expectedTypes, this.workingCopyOwner, this.typeHierarchyCache) : RelevanceUtils.simpleComputeRelevanceForExpectingType(type, expectedTypes));
+//		relevance += (isExceptionExpected ? RelevanceUtils.computeRelevanceForExpectingType(type, expectedTypes, this.workingCopyOwner) : RelevanceUtils.simpleComputeRelevanceForExpectingType(type, expectedTypes));
 		relevance += RelevanceUtils.computeRelevanceForCaseMatching(this.prefix.toCharArray(), simpleName, this.assistOptions);
 		try {
 			if ((type.getModifiers() & Flags.AccAnnotation) != 0) {
@@ -5138,7 +5296,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 		relevance += RelevanceConstants.R_RESOLVED;
 		relevance += RelevanceUtils.computeRelevanceForInteresting(type, expectedTypes);
 		relevance += RelevanceUtils.computeRelevanceForRestrictions(access, this.settings);
-		relevance += (isExceptionExpected && DOMCompletionUtils.findInSupers(type, "Ljava/lang/Exception;", this.workingCopyOwner, this.typeHierarchyCache) ? RelevanceConstants.R_EXCEPTION : 0);
+		relevance += (isExceptionExpected && DOMCompletionUtils.findInSupers(type, "Ljava/lang/Exception;", this.workingCopyOwner) ? RelevanceConstants.R_EXCEPTION : 0);
 		relevance += RelevanceUtils.computeRelevanceForInheritance(this.qualifyingType, type);
 		relevance += RelevanceUtils.computeRelevanceForQualification(!"java.lang".equals(type.getPackageFragment().getElementName()) && !nodeInImports && !fromCurrentCU && !inSamePackage && !typeIsImported, this.prefix, this.qualifiedPrefix);
 		if (type.getFullyQualifiedName().startsWith("java.")
@@ -5146,7 +5304,7 @@ public class DOMCompletionEngine implements ICompletionEngine {
 			relevance += RelevanceConstants.R_JAVA_LIBRARY;
 		}
 		// sometimes subclasses and superclasses are considered, sometimes they aren't
-		relevance += (isExceptionExpected ? RelevanceUtils.computeRelevanceForExpectingType(type, expectedTypes, this.workingCopyOwner, this.typeHierarchyCache) : RelevanceUtils.simpleComputeRelevanceForExpectingType(type, expectedTypes));
+		relevance += (isExceptionExpected ? RelevanceUtils.computeRelevanceForExpectingType(type, expectedTypes, this.workingCopyOwner) : RelevanceUtils.simpleComputeRelevanceForExpectingType(type, expectedTypes));
 		relevance += RelevanceUtils.computeRelevanceForCaseMatching(this.prefix.toCharArray(), simpleName, this.assistOptions);
 		try {
 			if ((type.getFlags() & Flags.AccAnnotation) != 0) {
@@ -6120,44 +6278,11 @@ public class DOMCompletionEngine implements ICompletionEngine {
 		return res;
 	}
 
-	private Map<String, IModuleDescription> getAllJarModuleNames(IJavaProject project) {
-		Map<String, IModuleDescription> modules = new HashMap<>();
-		try {
-			for (IPackageFragmentRoot root : project.getAllPackageFragmentRoots()) {
-				if (root instanceof JarPackageFragmentRoot) {
-					IModuleDescription desc = root.getModuleDescription();
-					desc = desc == null ? ((JarPackageFragmentRoot) root).getAutomaticModuleDescription() : desc;
-					String name = desc != null ? desc.getElementName() : null;
-					if (name != null && name.length() > 0)
-						modules.putIfAbsent(name, desc);
-				}
-			}
-		} catch (JavaModelException e) {
-			// do nothing
-		}
-		return modules;
-	}
-
 	private void findModules(char[] prefix, IJavaProject project, AssistOptions options, Set<String> skip, int startPos, int endPos) {
 		if(this.requestor.isIgnored(CompletionProposal.MODULE_REF)) {
 			return;
 		}
-		HashMap<String, IModuleDescription> probableModules = new HashMap<>();
-		ModuleSourcePathManager mManager = JavaModelManager.getModulePathManager();
-		JavaElementRequestor javaElementRequestor = new JavaElementRequestor();
-		try {
-			mManager.seekModule(prefix, true, javaElementRequestor);
-			IModuleDescription[] modules = javaElementRequestor.getModules();
-			for (IModuleDescription module : modules) {
-				String name = module.getElementName();
-				if (name == null || name.equals("")) //$NON-NLS-1$
-					continue;
-				probableModules.putIfAbsent(name, module);
-			}
-		} catch (JavaModelException e) {
-			// ignore the error
-		}
-		probableModules.putAll(getAllJarModuleNames(project));
+		Map<String, IModuleDescription> probableModules = DOMModuleNameIndex.modules(project, prefix);
 		Set<String> requiredModules = collectRequiredModules(probableModules);
 		List<String> removeList = new ArrayList<>();
 		if (prefix != CharOperation.ALL_PREFIX && prefix != null && prefix.length > 0) {
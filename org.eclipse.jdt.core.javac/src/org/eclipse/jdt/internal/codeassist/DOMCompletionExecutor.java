@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.codeassist;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Bounded executor running the parts of a completion that don't need the AST nor its bindings
+ * (eg the search for types in the Java model), while the request thread computes the proposals
+ * that do: javac and the binding resolver are not thread safe, so binding based producers always
+ * stay on the request thread.
+ *
+ * The number of threads is read from the {@value #THREADS_PROPERTY} system property and defaults
+ * to 2; when not positive, the work is done on the request thread when submitted.
+ * At most {@value #QUEUE_SIZE} tasks wait for a thread: when full, the oldest waiting task is dropped,
+ * as it most likely belongs to a superseded completion. A task that no thread started yet, dropped or not,
+ * is run by the request thread when it joins it.
+ */
+class DOMCompletionExecutor {
+
+	static final String THREADS_PROPERTY = "org.eclipse.jdt.core.javac.completion.threads"; //$NON-NLS-1$
+
+	private static final int THREADS = Integer.getInteger(THREADS_PROPERTY, 2);
+	private static final int QUEUE_SIZE = 8;
+	private static final ThreadPoolExecutor EXECUTOR;
+	static {
+		if (THREADS > 0) {
+			EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+				Thread thread = new Thread(runnable, "Java completion producer"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			}, new ThreadPoolExecutor.DiscardOldestPolicy());
+			EXECUTOR.allowCoreThreadTimeOut(true);
+		} else {
+			EXECUTOR = null;
+		}
+	}
+
+	/**
+	 * The result of a producer, computed by the executor or by the request thread.
+	 */
+	static final class Task<T> implements Runnable {
+
+		private final Function<IProgressMonitor, T> producer;
+		private final IProgressMonitor monitor = new NullProgressMonitor();
+		private final CompletableFuture<T> future = new CompletableFuture<>();
+		private final AtomicBoolean started = new AtomicBoolean();
+
+		private Task(Function<IProgressMonitor, T> producer) {
+			this.producer = producer;
+		}
+
+		@Override
+		public void run() {
+			if (this.started.compareAndSet(false, true)) {
+				compute();
+			}
+		}
+
+		private void compute() {
+			try {
+				this.future.complete(this.producer.apply(this.monitor));
+			} catch (Throwable e) {
+				this.future.completeExceptionally(e);
+			}
+		}
+
+		/**
+		 * Waits for the result, giving up as soon as the monitor is canceled.
+		 *
+		 * @param requestMonitor the monitor of the completion, can be <code>null</code>
+		 * @return the result
+		 * @throws OperationCanceledException if the monitor got canceled
+		 */
+		T join(IProgressMonitor requestMonitor) {
+			if (this.started.compareAndSet(false, true)) {
+				// still waiting for a thread (or dropped), don't wait more
+				if (EXECUTOR != null) {
+					EXECUTOR.remove(this);
+				}
+				compute();
+			}
+			while (true) {
+				if (requestMonitor != null && requestMonitor.isCanceled()) {
+					cancel();
+					throw new OperationCanceledException();
+				}
+				try {
+					return this.future.get(20, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					// check the monitor again
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					cancel();
+					throw new OperationCanceledException();
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof RuntimeException runtimeException) {
+						throw runtimeException;
+					}
+					if (e.getCause() instanceof Error error) {
+						throw error;
+					}
+					throw new IllegalStateException(e.getCause());
+				}
+			}
+		}
+
+		/**
+		 * Cancels the producer: it is not started if it wasn't yet, otherwise its monitor is canceled.
+		 * Does nothing if the result is already computed.
+		 */
+		void cancel() {
+			this.started.set(true);
+			this.monitor.setCanceled(true);
+			if (EXECUTOR != null) {
+				EXECUTOR.remove(this);
+			}
+			this.future.cancel(false);
+		}
+	}
+
+	private DOMCompletionExecutor() {
+	}
+
+	/**
+	 * @param producer computes a result without accessing the AST nor bindings, checking the given monitor
+	 * 	for cancellation
+	 * @return the task computing the result, to be joined or canceled
+	 */
+	static <T> Task<T> submit(Function<IProgressMonitor, T> producer) {
+		Task<T> res = new Task<>(producer);
+		if (EXECUTOR == null) {
+			res.run();
+		} else {
+			EXECUTOR.execute(res);
+		}
+		return res;
+	}
+}
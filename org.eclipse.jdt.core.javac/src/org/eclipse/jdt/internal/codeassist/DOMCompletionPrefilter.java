@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.codeassist;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.core.CompletionContext;
+import org.eclipse.jdt.core.CompletionProposal;
+import org.eclipse.jdt.core.CompletionRequestor;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.compiler.IScanner;
+import org.eclipse.jdt.core.compiler.ITerminalSymbols;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+
+/**
+ * Cheap classification of a completion position, run on the tokens of the source before
+ * {@link DOMCompletionEngine} builds the resolved AST, so that completions that cannot produce
+ * any wanted proposal return immediately instead of paying for parsing, attribution and binding resolution.
+ *
+ * Positions inside a (non Javadoc) comment or a text block are known to produce nothing, the same way
+ * the engine returns without proposals once it found such a node in the resolved AST. String literals are
+ * not skipped: the context of a completion in a string literal reports the literal as its token.
+ *
+ * Other positions are classified from the tokens before the completed name, to tell which kinds of proposals
+ * they may produce: annotation names only produce types (and the <code>interface</code> keyword), the names of
+ * import and package declarations only produce packages, types and static members. When the requestor ignores
+ * all of these kinds (and doesn't require the extended context), nothing is completed. Anything else, including a source that cannot be tokenized,
+ * goes through the full engine.
+ */
+class DOMCompletionPrefilter {
+
+	private static final int[] ANNOTATION_KINDS = { CompletionProposal.TYPE_REF, CompletionProposal.KEYWORD };
+	private static final int[] IMPORT_KINDS = { CompletionProposal.PACKAGE_REF, CompletionProposal.TYPE_REF,
+			CompletionProposal.TYPE_IMPORT, CompletionProposal.FIELD_REF, CompletionProposal.FIELD_IMPORT,
+			CompletionProposal.METHOD_REF, CompletionProposal.METHOD_IMPORT, CompletionProposal.KEYWORD };
+	private static final int[] PACKAGE_KINDS = { CompletionProposal.PACKAGE_REF };
+	private static final int[] ALL_KINDS = IntStream.rangeClosed(CompletionProposal.FIRST_KIND, CompletionProposal.LAST_KIND).toArray();
+
+	private DOMCompletionPrefilter() {
+	}
+
+	/**
+	 * @param source the source of the unit
+	 * @param offset the completion offset
+	 * @param options the compiler options of the project
+	 * @param requestor the requestor of the completion
+	 * @return whether completing at the given offset may produce proposals that are not ignored by the requestor
+	 */
+	static boolean mayProduceProposals(char[] source, int offset, Map<String, String> options, CompletionRequestor requestor) {
+		int[] kinds = possibleKinds(source, offset, options);
+		if (kinds.length > 0 && requestor.isExtendedContextRequired()) {
+			// the extended context needs the resolved AST, even without proposals
+			return true;
+		}
+		for (int kind : kinds) {
+			if (!requestor.isIgnored(kind)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the kinds of proposals that completing at the given offset may produce
+	 */
+	private static int[] possibleKinds(char[] source, int offset, Map<String, String> options) {
+		IScanner scanner = ToolFactory.createScanner(true, false, false,
+				options.get(JavaCore.COMPILER_SOURCE), options.get(JavaCore.COMPILER_COMPLIANCE));
+		scanner.setSource(source);
+		// the last two tokens before the offset, comments excluded
+		int previous = ITerminalSymbols.TokenNameEOF;
+		int last = ITerminalSymbols.TokenNameEOF;
+		int lastEnd = -1;
+		// the keyword of the import or package declaration whose name is being read, if any
+		int declaration = ITerminalSymbols.TokenNameEOF;
+		try {
+			int token;
+			while ((token = scanner.getNextToken()) != ITerminalSymbols.TokenNameEOF) {
+				int start = scanner.getCurrentTokenStartPosition();
+				if (start >= offset) {
+					break;
+				}
+				if (offset <= scanner.getCurrentTokenEndPosition()) {
+					return isOpaque(token) ? new int[0] : ALL_KINDS;
+				}
+				if (isComment(token)) {
+					continue;
+				}
+				declaration = switch (token) {
+					case ITerminalSymbols.TokenNameimport, ITerminalSymbols.TokenNamepackage -> token;
+					case ITerminalSymbols.TokenNameIdentifier, ITerminalSymbols.TokenNameDOT, ITerminalSymbols.TokenNameMULTIPLY,
+						ITerminalSymbols.TokenNamestatic -> declaration;
+					default -> ITerminalSymbols.TokenNameEOF;
+				};
+				previous = last;
+				last = token;
+				lastEnd = scanner.getCurrentTokenEndPosition();
+			}
+		} catch (InvalidInputException e) {
+			// unterminated comment or literal, let the engine decide
+			return ALL_KINDS;
+		}
+		// the token before the completed name, if any
+		int beforeName = last == ITerminalSymbols.TokenNameIdentifier && lastEnd == offset - 1 ? previous : last;
+		if (beforeName == ITerminalSymbols.TokenNameAT) {
+			return ANNOTATION_KINDS;
+		}
+		if (declaration == ITerminalSymbols.TokenNameimport) {
+			return IMPORT_KINDS;
+		}
+		if (declaration == ITerminalSymbols.TokenNamepackage) {
+			return PACKAGE_KINDS;
+		}
+		return ALL_KINDS;
+	}
+
+	private static boolean isComment(int token) {
+		return switch (token) {
+			case ITerminalSymbols.TokenNameCOMMENT_LINE, ITerminalSymbols.TokenNameCOMMENT_BLOCK,
+				ITerminalSymbols.TokenNameCOMMENT_JAVADOC -> true;
+			default -> false;
+		};
+	}
+
+	private static boolean isOpaque(int token) {
+		return switch (token) {
+			case ITerminalSymbols.TokenNameCOMMENT_LINE, ITerminalSymbols.TokenNameCOMMENT_BLOCK,
+				ITerminalSymbols.TokenNameTextBlock -> true;
+			default -> false;
+		};
+	}
+
+	/**
+	 * @return the context of a completion that is known to produce no proposals, whose token is the
+	 * 	identifier around the offset, as reported by {@link DOMCompletionContext}
+	 */
+	static CompletionContext tokenContext(String source, int offset) {
+		int start = Math.min(offset, source.length());
+		while (start > 0 && Character.isJavaIdentifierPart(source.charAt(start - 1))) {
+			start--;
+		}
+		int end = Math.min(offset, source.length());
+		while (end < source.length() && Character.isJavaIdentifierPart(source.charAt(end))) {
+			end++;
+		}
+		char[] token = source.substring(start, Math.min(offset, source.length())).toCharArray();
+		int tokenStart = start;
+		int tokenEnd = end - 1;
+		return new CompletionContext() {
+			@Override
+			public int getOffset() {
+				return offset;
+			}
+			@Override
+			public char[] getToken() {
+				return token;
+			}
+			@Override
+			public int getTokenStart() {
+				return tokenStart;
+			}
+			@Override
+			public int getTokenEnd() {
+				return tokenEnd;
+			}
+			@Override
+			public int getTokenKind() {
+				return TOKEN_KIND_NAME;
+			}
+		};
+	}
+}
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.codeassist;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.AnonymousClassDeclaration;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.internal.javac.JavaModelChanges;
+
+/**
+ * State of {@link DOMCompletionEngine} that can be reused by successive completion
+ * requests inside the body of the same member, as long as the source outside of that body
+ * is unchanged: typing in a method body produces new ASTs, but doesn't change the members
+ * visible from it. The session is only shared when the innermost type is the one declaring
+ * the member (the visibility of members depends on it).
+ *
+ * It keeps what doesn't depend on the exact completion offset: the members visible from
+ * the enclosing declarations (by binding key) and the resolved favorite members (for the same
+ * favorite references), and, for the current AST only, the expected types computed for a node
+ * at a given offset. Local variables and prefix filtering are always recomputed.
+ *
+ * The last session keeps bindings of a previous AST alive, so it's dropped as soon as the Java model
+ * reports a change that may affect what is visible from its unit.
+ */
+class DOMCompletionSession {
+
+	private static volatile DOMCompletionSession last;
+
+	static {
+		JavaModelChanges.addListener(DOMCompletionSession::elementChanged, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private final CompilationUnit ast;
+	private final int astModificationCount;
+	private final IJavaElement unit;
+	private final IJavaElement enclosingMember;
+	private final String source;
+	private final int bodyStart;
+	private final int bodyEnd;
+
+	private record Position(ASTNode node, int offset) {}
+
+	private final Map<String, List<IBinding>> membersByDeclaration;
+	private final Map<Position, ExpectedTypes.Computed> expectedTypesByPosition = new ConcurrentHashMap<>();
+	private volatile List<String> favoriteReferences;
+	private volatile List<IBinding> favoriteBindings;
+
+	private DOMCompletionSession(CompilationUnit ast, IJavaElement enclosingMember, String source, Block body, DOMCompletionSession previous) {
+		this.ast = ast;
+		this.astModificationCount = ast.getAST().modificationCount();
+		this.unit = ast.getJavaElement();
+		this.enclosingMember = enclosingMember;
+		this.source = source;
+		this.bodyStart = body == null ? -1 : body.getStartPosition();
+		this.bodyEnd = body == null ? -1 : body.getStartPosition() + body.getLength();
+		this.membersByDeclaration = previous == null ? new ConcurrentHashMap<>() : previous.membersByDeclaration;
+		if (previous != null) {
+			this.favoriteReferences = previous.favoriteReferences;
+			this.favoriteBindings = previous.favoriteBindings;
+		}
+	}
+
+	/**
+	 * @param source the source the AST was built from
+	 * @return the session for completing at the given node, reusing the state of the previous
+	 * 	request when possible
+	 */
+	static DOMCompletionSession of(CompilationUnit ast, String source, ASTNode toComplete) {
+		if (ast == null) {
+			return null;
+		}
+		ASTNode enclosingMember = DOMCompletionUtils.findParent(toComplete, new int[] { ASTNode.METHOD_DECLARATION, ASTNode.INITIALIZER });
+		ASTNode enclosingType = DOMCompletionUtils.findParent(toComplete, new int[] { ASTNode.ANNOTATION_TYPE_DECLARATION, ASTNode.TYPE_DECLARATION,
+				ASTNode.ENUM_DECLARATION, ASTNode.RECORD_DECLARATION, ASTNode.ANONYMOUS_CLASS_DECLARATION });
+		Block body = enclosingMember instanceof MethodDeclaration method ? method.getBody()
+				: enclosingMember instanceof Initializer initializer ? initializer.getBody()
+				: null;
+		IJavaElement memberElement = body != null && source != null && enclosingType != null && enclosingMember.getParent() == enclosingType
+				&& isInside(toComplete, body) ? elementAt(ast, enclosingMember) : null;
+		if (memberElement == null) {
+			// visible members can depend on the exact position (eg field declarations order, local types), don't share
+			return new DOMCompletionSession(ast, null, null, null, null);
+		}
+		DOMCompletionSession previous = last;
+		if (previous != null && previous.ast == ast && previous.astModificationCount == ast.getAST().modificationCount()
+				&& previous.bodyStart == body.getStartPosition()) {
+			return previous;
+		}
+		DOMCompletionSession res = new DOMCompletionSession(ast, memberElement, source, body,
+				previous != null && previous.matches(memberElement, source, body) ? previous : null);
+		last = res;
+		return res;
+	}
+
+	private static boolean isInside(ASTNode node, ASTNode ancestor) {
+		for (ASTNode current = node; current != null; current = current.getParent()) {
+			if (current == ancestor) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static IJavaElement elementAt(CompilationUnit ast, ASTNode member) {
+		if (ast.getJavaElement() instanceof ITypeRoot typeRoot) {
+			try {
+				return typeRoot.getElementAt(member.getStartPosition());
+			} catch (JavaModelException e) {
+				// no handle, no sharing
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return whether a request in the given member body sees the same members as this session:
+	 * 	same member (handle, so of the same unit), with the same source outside of its body
+	 */
+	private boolean matches(IJavaElement otherEnclosingMember, String otherSource, Block otherBody) {
+		if (this.enclosingMember == null || !this.enclosingMember.equals(otherEnclosingMember)) {
+			return false;
+		}
+		int otherBodyStart = otherBody.getStartPosition();
+		int otherBodyEnd = otherBodyStart + otherBody.getLength();
+		int suffixLength = this.source.length() - this.bodyEnd;
+		return this.bodyStart == otherBodyStart
+			&& suffixLength == otherSource.length() - otherBodyEnd
+			&& this.source.regionMatches(0, otherSource, 0, this.bodyStart)
+			&& this.source.regionMatches(this.bodyEnd, otherSource, otherBodyEnd, suffixLength);
+	}
+
+	/**
+	 * @return the key of the given declaration (type declaration, anonymous class or compilation unit),
+	 * 	or <code>null</code> if it can't be shared
+	 */
+	private static String declarationKey(ASTNode declaration) {
+		ITypeBinding binding = declaration instanceof AbstractTypeDeclaration typeDeclaration ? typeDeclaration.resolveBinding()
+				: declaration instanceof AnonymousClassDeclaration anonymousClass ? anonymousClass.resolveBinding()
+				: null;
+		if (binding != null) {
+			return binding.getKey();
+		}
+		return declaration instanceof CompilationUnit ? "" : null; //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the members visible from the given declaration (type declaration, anonymous class or compilation unit),
+	 * 	in the order they were contributed
+	 */
+	List<IBinding> members(ASTNode declaration, Supplier<List<IBinding>> computer) {
+		String key = declarationKey(declaration);
+		if (key == null) {
+			return List.copyOf(computer.get());
+		}
+		List<IBinding> res = this.membersByDeclaration.get(key);
+		if (res == null) {
+			res = List.copyOf(computer.get());
+			this.membersByDeclaration.put(key, res);
+		}
+		return res;
+	}
+
+	/**
+	 * @return the expected types computed by a previous request for the given node and offset, or <code>null</code>
+	 */
+	ExpectedTypes.Computed expectedTypes(ASTNode node, int offset) {
+		return this.expectedTypesByPosition.get(new Position(node, offset));
+	}
+
+	void putExpectedTypes(ASTNode node, int offset, ExpectedTypes.Computed computed) {
+		this.expectedTypesByPosition.put(new Position(node, offset), computed);
+	}
+
+	/**
+	 * @param references the favorite references of the requestor
+	 * @return the bindings for the favorite members, before any filtering against the local scope
+	 */
+	List<IBinding> favoriteBindings(String[] references, Supplier<List<IBinding>> computer) {
+		List<String> referencesList = references == null ? List.of() : List.of(references);
+		List<IBinding> res = this.favoriteBindings;
+		if (res == null || !Objects.equals(this.favoriteReferences, referencesList)) {
+			res = List.copyOf(computer.get());
+			this.favoriteReferences = referencesList;
+			this.favoriteBindings = res;
+		}
+		return res;
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		DOMCompletionSession session = last;
+		if (session == null) {
+			return;
+		}
+		IJavaElement unit = session.unit;
+		if (unit == null || affects(event.getDelta(), unit.getPrimaryElement())) {
+			last = null;
+		}
+	}
+
+	/**
+	 * @return whether the delta removes the given unit, or may change what is visible from it
+	 */
+	private static boolean affects(IJavaElementDelta delta, IJavaElement unit) {
+		IJavaElement element = delta.getElement();
+		if (element.getElementType() == IJavaElement.COMPILATION_UNIT) {
+			if (unit.equals(element.getPrimaryElement())) {
+				// edits of the unit itself are checked against the source of the next request
+				return delta.getKind() != IJavaElementDelta.CHANGED;
+			}
+			return delta.getKind() != IJavaElementDelta.CHANGED
+				|| (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) == 0 || delta.getAffectedChildren().length > 0;
+		}
+		if (element.getElementType() < IJavaElement.COMPILATION_UNIT
+				&& (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0)) {
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affects(child, unit)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
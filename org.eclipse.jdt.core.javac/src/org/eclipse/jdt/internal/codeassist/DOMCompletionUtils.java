@@ -15,16 +15,11 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.function.Consumer;
 
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.ITypeHierarchy;
-import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTVisitor;
@@ -47,7 +42,6 @@ import org.eclipse.jdt.core.dom.SuperFieldAccess;
 import org.eclipse.jdt.core.dom.SuperMethodReference;
 import org.eclipse.jdt.core.dom.TypeMethodReference;
 import org.eclipse.jdt.core.dom.TypePattern;
-import org.eclipse.jdt.internal.SignatureUtils;
 
 public class DOMCompletionUtils {
 
@@ -177,36 +171,11 @@ public class DOMCompletionUtils {
 	 * @param root             the class to begin searching in
 	 * @param keyOfTypeToFind  the key of the class to find
 	 * @param workignCopyOwner the working copy owner
-	 * @param hierarchyCache   the cache of existing type hierarchies (rebuilding
-	 *                         the type hierarchy is very expensive)
 	 * @return true if the type indicated by keyOfTypeToFind is a superclass of root
+	 * @see DOMTypeHierarchyCache
 	 */
-	public static boolean findInSupers(IType root, String keyOfTypeToFind, WorkingCopyOwner workingCopyOwner, Map<String, ITypeHierarchy> hierarchyCache) {
-		if (root.getKey().equals(keyOfTypeToFind)) {
-			return true;
-		}
-		try {
-			String signature = SignatureUtils.getSignatureForTypeKey(keyOfTypeToFind);
-			IType typeToFind = root.getJavaProject().findType(Signature.getSignatureQualifier(signature)+ "." + Signature.getSignatureSimpleName(signature));
-			if (typeToFind != null) {
-				ITypeHierarchy hierarchy;
-				if (hierarchyCache.containsKey(keyOfTypeToFind)) {
-					hierarchy = hierarchyCache.get(keyOfTypeToFind);
-				} else {
-					hierarchy = typeToFind.newTypeHierarchy(root.getJavaProject(), workingCopyOwner, new NullProgressMonitor());
-					hierarchyCache.put(keyOfTypeToFind, hierarchy);
-				}
-
-				for (IType subType : hierarchy.getAllSubtypes(typeToFind)) {
-					if (subType.getKey().equals(root.getKey())) {
-						return true;
-					}
-				}
-			}
-			return false;
-		} catch (JavaModelException e) {
-			return false;
-		}
+	public static boolean findInSupers(IType root, String keyOfTypeToFind, WorkingCopyOwner workingCopyOwner) {
+		return DOMTypeHierarchyCache.isSubtype(root, keyOfTypeToFind, workingCopyOwner);
 	}
 
 	/**
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.codeassist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+import org.eclipse.jdt.internal.javac.JavaModelChanges;
+
+/**
+ * Project-level index of the Java elements of the favorite static members
+ * ({@link org.eclipse.jdt.core.CompletionRequestor#getFavoriteReferences()}).
+ *
+ * The favorite references are resolved with a search once per project and set of references; later
+ * completions read the element handles from here, and create their bindings in their own context. No binding
+ * is kept here, as it would keep its javac context alive and be shared by concurrent completions.
+ * Only the primary working copy owner is cached, and at most {@link #MAX_ENTRIES} entries are kept.
+ * Entries are dropped when the classpath of a project changes, when a project is closed or removed,
+ * when an archive of the classpath changes, when a package or compilation unit is added or removed (it may declare
+ * a favorite that wasn't found before), or when the compilation unit declaring a favorite changes.
+ */
+class DOMFavoriteMembersIndex {
+
+	private static final int MAX_ENTRIES = 64;
+
+	private record Key(IJavaProject project, List<String> references) {
+	}
+
+	private record Entry(IJavaElement[] elements, Set<IJavaElement> sourceUnits) {
+	}
+
+	private static final Map<Key, Entry> INDEX = Collections.synchronizedMap(new LinkedHashMap<>(16, .75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	});
+
+	static {
+		JavaModelChanges.addListener(DOMFavoriteMembersIndex::elementChanged, ElementChangedEvent.POST_CHANGE);
+	}
+
+	private DOMFavoriteMembersIndex() {
+	}
+
+	/**
+	 * @param project the project from which the favorites are referenced
+	 * @param owner the working copy owner of the completion
+	 * @param references the favorite references, as returned by the requestor
+	 * @param elementsFinder resolves the references to the Java elements (types or static members);
+	 * 	only called when the index has no up-to-date entry
+	 * @return the favorite types and members
+	 */
+	static IJavaElement[] favoriteElements(IJavaProject project, WorkingCopyOwner owner, String[] references, Function<String[], Collection<IJavaElement>> elementsFinder) {
+		if (project == null || references == null || references.length == 0) {
+			return new IJavaElement[0];
+		}
+		if (owner != null && owner != DefaultWorkingCopyOwner.PRIMARY) {
+			// the working copies of other owners aren't reported by the listener
+			return elementsFinder.apply(references).toArray(IJavaElement[]::new);
+		}
+		Key key = new Key(project, List.of(references));
+		Entry entry = INDEX.get(key);
+		if (entry != null) {
+			return entry.elements();
+		}
+		Collection<IJavaElement> elements = elementsFinder.apply(references);
+		Set<IJavaElement> sourceUnits = elements.stream()
+				.filter(IMember.class::isInstance)
+				.map(member -> ((IMember)member).getCompilationUnit())
+				.filter(unit -> unit != null)
+				.map(ICompilationUnit::getPrimaryElement)
+				.collect(Collectors.toUnmodifiableSet());
+		IJavaElement[] res = elements.toArray(IJavaElement[]::new);
+		INDEX.put(key, new Entry(res, sourceUnits));
+		return res;
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		if (!INDEX.isEmpty() && isRelevant(event.getDelta())) {
+			// favorites of a project may come from other projects, simpler to drop everything
+			INDEX.clear();
+		}
+	}
+
+	private static boolean isRelevant(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+					|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+							| IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if ((flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+						| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					return true;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				// don't go deeper than compilation units
+				return delta.getKind() != IJavaElementDelta.CHANGED || isFavoriteSource(element.getPrimaryElement());
+			default:
+				break;
+		}
+		return Arrays.stream(delta.getAffectedChildren()).anyMatch(DOMFavoriteMembersIndex::isRelevant);
+	}
+
+	private static boolean isFavoriteSource(IJavaElement unit) {
+		synchronized (INDEX) {
+			return INDEX.values().stream().anyMatch(entry -> entry.sourceUnits().contains(unit));
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.codeassist;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IModuleDescription;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.core.JarPackageFragmentRoot;
+import org.eclipse.jdt.internal.core.JavaElementRequestor;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.javac.JavaModelChanges;
+
+/**
+ * Per-project index of the names of the modules that can be referenced from a project, for module completion.
+ *
+ * Modules of the archives on the classpath (automatic modules included) are computed once per project
+ * and dropped when the classpath or an archive changes. Source modules come from
+ * {@link org.eclipse.jdt.internal.core.ModuleSourcePathManager}, which already keeps them in memory
+ * and up to date.
+ */
+class DOMModuleNameIndex {
+
+	private static final Map<IJavaProject, Map<String, IModuleDescription>> JAR_MODULES = new ConcurrentHashMap<>();
+
+	static {
+		JavaModelChanges.addListener(DOMModuleNameIndex::elementChanged, ElementChangedEvent.POST_CHANGE);
+	}
+
+	private DOMModuleNameIndex() {
+	}
+
+	/**
+	 * @param project the project
+	 * @param prefix the prefix of the source modules to look for
+	 * @return the modules visible from the given project, by name: source modules matching the prefix,
+	 * 	then all the modules of the archives on the classpath
+	 */
+	static Map<String, IModuleDescription> modules(IJavaProject project, char[] prefix) {
+		Map<String, IModuleDescription> res = new LinkedHashMap<>();
+		JavaElementRequestor javaElementRequestor = new JavaElementRequestor();
+		try {
+			JavaModelManager.getModulePathManager().seekModule(prefix, true, javaElementRequestor);
+			for (IModuleDescription module : javaElementRequestor.getModules()) {
+				String name = module.getElementName();
+				if (name != null && !name.isEmpty()) {
+					res.putIfAbsent(name, module);
+				}
+			}
+		} catch (JavaModelException e) {
+			// ignore the error
+		}
+		res.putAll(jarModules(project));
+		return res;
+	}
+
+	/**
+	 * @return the modules of the archives on the classpath of the given project, by name
+	 */
+	static Map<String, IModuleDescription> jarModules(IJavaProject project) {
+		return JAR_MODULES.computeIfAbsent(project, DOMModuleNameIndex::computeJarModules);
+	}
+
+	private static Map<String, IModuleDescription> computeJarModules(IJavaProject project) {
+		Map<String, IModuleDescription> modules = new LinkedHashMap<>();
+		try {
+			for (IPackageFragmentRoot root : project.getAllPackageFragmentRoots()) {
+				if (root instanceof JarPackageFragmentRoot jarRoot) {
+					IModuleDescription desc = root.getModuleDescription();
+					desc = desc == null ? jarRoot.getAutomaticModuleDescription() : desc;
+					String name = desc != null ? desc.getElementName() : null;
+					if (name != null && name.length() > 0)
+						modules.putIfAbsent(name, desc);
+				}
+			}
+		} catch (JavaModelException e) {
+			// do nothing
+		}
+		return Collections.unmodifiableMap(modules);
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		if (!JAR_MODULES.isEmpty() && affectsClasspath(event.getDelta())) {
+			JAR_MODULES.clear();
+		}
+	}
+
+	private static boolean affectsClasspath(IJavaElementDelta delta) {
+		int flags = delta.getFlags();
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+					|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+							| IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				return delta.getKind() != IJavaElementDelta.CHANGED
+					|| (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+							| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0;
+			default:
+				// don't go deeper than roots
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsClasspath(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.codeassist;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Selects the best candidates of a completion, according to a cheap score, before they are turned into
+ * {@link org.eclipse.jdt.core.CompletionProposal}s: computing the full proposal (signature, completion
+ * text, relevance) is the expensive part, and is wasted for candidates that won't be shown.
+ *
+ * The number of candidates to keep is read from the {@value #MAX_CANDIDATES_PROPERTY} system property;
+ * when unset or not positive, all candidates are kept and the stream is returned as is.
+ * The other candidates are dropped, not computed later on demand: the limit is meant for clients that
+ * request completion again as the prefix grows, and then get the next best candidates.
+ */
+class DOMTopCandidates {
+
+	static final String MAX_CANDIDATES_PROPERTY = "org.eclipse.jdt.core.javac.completion.maxCandidates"; //$NON-NLS-1$
+
+	private DOMTopCandidates() {
+	}
+
+	/**
+	 * @return the maximum number of candidates to turn into proposals, or a non-positive value for no limit
+	 */
+	static int maxCandidates() {
+		return Integer.getInteger(MAX_CANDIDATES_PROPERTY, 0);
+	}
+
+	/**
+	 * @param candidates the candidates
+	 * @param score a cheap estimation of the relevance of a candidate
+	 * @param order the order of candidates having the same score, the first ones are kept
+	 * @return the candidates with the best scores, best first, or all the candidates in their original order
+	 * 	if there is no limit
+	 */
+	static <T> Stream<T> best(Stream<T> candidates, ToIntFunction<T> score, Comparator<T> order) {
+		int limit = maxCandidates();
+		if (limit <= 0) {
+			return candidates;
+		}
+		record Scored<T>(T candidate, int score) {
+		}
+		Comparator<Scored<T>> best = Comparator.<Scored<T>>comparingInt(Scored::score).reversed()
+				.thenComparing(Scored::candidate, order);
+		// head is the worst of the kept candidates
+		PriorityQueue<Scored<T>> kept = new PriorityQueue<>(best.reversed());
+		candidates.forEach(candidate -> {
+			Scored<T> scored = new Scored<>(candidate, score.applyAsInt(candidate));
+			if (kept.size() < limit) {
+				kept.add(scored);
+			} else if (best.compare(scored, kept.peek()) < 0) {
+				kept.poll();
+				kept.add(scored);
+			}
+		});
+		List<Scored<T>> res = new ArrayList<>(kept);
+		res.sort(best);
+		return res.stream().map(Scored::candidate);
+	}
+}
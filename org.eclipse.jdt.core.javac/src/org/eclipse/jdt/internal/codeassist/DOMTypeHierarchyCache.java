@@ -0,0 +1,384 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.codeassist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.internal.SignatureUtils;
+import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+import org.eclipse.jdt.internal.javac.JavaModelChanges;
+
+/**
+ * Workspace-wide cache of the super and sub types of Java model types, shared by the completion requests.
+ *
+ * For super types, each entry is the set of the fully qualified names of all the super types of a type,
+ * computed once from {@link IType#newSupertypeHierarchy(WorkingCopyOwner, org.eclipse.core.runtime.IProgressMonitor)},
+ * which is much cheaper than building the full (subtypes included) hierarchy of the expected type.
+ * These entries are dropped when a unit of the hierarchy changes, or on classpath or coarse grained changes.
+ *
+ * For sub types, each project has an index of the direct subtypes of the types that were asked for,
+ * computed once from {@link IType#newTypeHierarchy(IJavaProject, org.eclipse.core.runtime.IProgressMonitor)}.
+ * It is updated incrementally when source types are added, removed, or change their super types (in the projects
+ * that can see them), and dropped on classpath or coarse grained changes.
+ *
+ * Both caches hold at most {@link #MAX_ENTRIES} types (per project for sub types).
+ * Only the primary working copy owner is cached.
+ */
+class DOMTypeHierarchyCache {
+
+	private static final int MAX_ENTRIES = 2000;
+
+	/**
+	 * @param names the fully qualified names of the super types
+	 * @param units the handle identifiers of the source units of the type and of its super types
+	 */
+	private record Supertypes(Set<String> names, Set<String> units) {}
+
+	private static final Map<String, Supertypes> SUPERTYPES = Collections.synchronizedMap(new LinkedHashMap<>(MAX_ENTRIES, .75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Supertypes> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	});
+	private static final Map<IJavaProject, Map<String, List<IType>>> SUBTYPES = new ConcurrentHashMap<>();
+
+	static {
+		JavaModelChanges.addListener(DOMTypeHierarchyCache::elementChanged, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private DOMTypeHierarchyCache() {
+	}
+
+	/**
+	 * @param type the type to check
+	 * @param keyOfSuperType the binding key of the candidate super type, type arguments are ignored
+	 * @param workingCopyOwner the working copy owner
+	 * @return whether the type identified by the key is the given type or one of its super types
+	 */
+	static boolean isSubtype(IType type, String keyOfSuperType, WorkingCopyOwner workingCopyOwner) {
+		if (type.getKey().equals(keyOfSuperType)) {
+			return true;
+		}
+		String signature = Signature.getTypeErasure(SignatureUtils.getSignatureForTypeKey(keyOfSuperType));
+		if (Signature.getTypeSignatureKind(signature) != Signature.CLASS_TYPE_SIGNATURE) {
+			return false;
+		}
+		String qualifier = Signature.getSignatureQualifier(signature);
+		String superTypeName = qualifier.isEmpty() ? Signature.getSignatureSimpleName(signature) : qualifier + '.' + Signature.getSignatureSimpleName(signature);
+		return superTypeNames(type, workingCopyOwner).contains(superTypeName.replace('$', '.'));
+	}
+
+	private static Set<String> superTypeNames(IType type, WorkingCopyOwner workingCopyOwner) {
+		boolean cacheable = workingCopyOwner == null || workingCopyOwner == DefaultWorkingCopyOwner.PRIMARY;
+		String cacheKey = cacheable ? type.getHandleIdentifier() : null;
+		if (cacheable) {
+			Supertypes res = SUPERTYPES.get(cacheKey);
+			if (res != null) {
+				return res.names();
+			}
+		}
+		Set<String> names = new HashSet<>();
+		Set<String> units = new HashSet<>();
+		addUnit(type, units);
+		try {
+			for (IType superType : type.newSupertypeHierarchy(workingCopyOwner, new NullProgressMonitor()).getAllSupertypes(type)) {
+				names.add(superType.getFullyQualifiedName('.'));
+				addUnit(superType, units);
+			}
+		} catch (JavaModelException e) {
+			// no super types
+		}
+		Supertypes res = new Supertypes(Set.copyOf(names), Set.copyOf(units));
+		if (cacheable) {
+			SUPERTYPES.put(cacheKey, res);
+		}
+		return res.names();
+	}
+
+	private static void addUnit(IType type, Set<String> units) {
+		ICompilationUnit unit = type.getCompilationUnit();
+		if (unit != null) {
+			units.add(unit.getPrimary().getHandleIdentifier());
+		}
+	}
+
+	/**
+	 * @param type the type to get the subtypes of
+	 * @param project the project defining the scope of the hierarchy
+	 * @return the direct subtypes of the given type, anonymous types excluded
+	 * @throws JavaModelException if the hierarchy cannot be computed
+	 */
+	static List<IType> directSubtypes(IType type, IJavaProject project) throws JavaModelException {
+		Map<String, List<IType>> projectSubtypes = SUBTYPES.computeIfAbsent(project, p -> Collections.synchronizedMap(new LinkedHashMap<>(16, .75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, List<IType>> eldest) {
+				return size() > MAX_ENTRIES;
+			}
+		}));
+		String superTypeName = type.getFullyQualifiedName('.');
+		List<IType> res = projectSubtypes.get(superTypeName);
+		if (res == null) {
+			res = Collections.synchronizedList(new ArrayList<>());
+			for (IType subtype : type.newTypeHierarchy(project, null).getSubtypes(type)) {
+				if (!subtype.isAnonymous()) {
+					res.add(subtype);
+				}
+			}
+			projectSubtypes.put(superTypeName, res);
+		}
+		synchronized (res) {
+			return List.copyOf(res);
+		}
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		if (SUPERTYPES.isEmpty() && SUBTYPES.isEmpty()) {
+			return;
+		}
+		List<IJavaElementDelta> typeChanges = new ArrayList<>();
+		if (collectChanges(event.getDelta(), typeChanges)) {
+			SUPERTYPES.clear();
+			SUBTYPES.clear();
+		} else {
+			for (IJavaElementDelta typeChange : typeChanges) {
+				ICompilationUnit unit = typeChange.getElement() instanceof ICompilationUnit changedUnit ? changedUnit
+						: ((IType)typeChange.getElement()).getCompilationUnit();
+				if (unit != null) {
+					removeSupertypes(unit.getPrimary());
+				}
+				updateSubtypes(typeChange);
+			}
+		}
+	}
+
+	/**
+	 * Drops the super types of the types whose hierarchy contains a type of the given unit.
+	 */
+	private static void removeSupertypes(ICompilationUnit unit) {
+		if (SUPERTYPES.isEmpty()) {
+			return;
+		}
+		String unitIdentifier = unit.getHandleIdentifier();
+		// the names of the types added to the unit, they may now be resolved as super types
+		Set<String> typeNames = new HashSet<>();
+		try {
+			for (IType type : unit.getAllTypes()) {
+				typeNames.add(type.getFullyQualifiedName('.'));
+			}
+		} catch (JavaModelException e) {
+			// unit is gone
+		}
+		synchronized (SUPERTYPES) {
+			SUPERTYPES.values().removeIf(supertypes -> supertypes.units().contains(unitIdentifier)
+					|| supertypes.names().stream().anyMatch(typeNames::contains));
+		}
+	}
+
+	/**
+	 * @param typeChanges collects the deltas of the types and units that can be applied incrementally
+	 * @return whether the change requires dropping all the caches
+	 */
+	private static boolean collectChanges(IJavaElementDelta delta, List<IJavaElementDelta> typeChanges) {
+		int flags = delta.getFlags();
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+					|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+							| IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+					|| (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+							| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_REORDER)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT, IJavaElement.CLASS_FILE:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					return true;
+				}
+				break;
+			case IJavaElement.TYPE:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & IJavaElementDelta.F_SUPER_TYPES) != 0) {
+					typeChanges.add(delta);
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				if (!isPrimary((ICompilationUnit)delta.getElement())) {
+					// working copy of another owner, the cache only knows about primary units (see superTypeNames)
+					return false;
+				}
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					typeChanges.add(delta);
+					return false;
+				}
+				if ((flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+					// no details about what changed, all the types of the unit are updated
+					typeChanges.add(delta);
+					return false;
+				}
+				break;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (collectChanges(child, typeChanges)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isPrimary(ICompilationUnit unit) {
+		WorkingCopyOwner owner = unit.getOwner();
+		return owner == null || owner == DefaultWorkingCopyOwner.PRIMARY;
+	}
+
+	private static void updateSubtypes(IJavaElementDelta delta) {
+		List<IType> changedTypes = new ArrayList<>();
+		if (delta.getElement() instanceof ICompilationUnit unit) {
+			ICompilationUnit primary = unit.getPrimary();
+			if (delta.getKind() != IJavaElementDelta.REMOVED) {
+				try {
+					changedTypes.addAll(List.of(primary.getAllTypes()));
+				} catch (JavaModelException e) {
+					// unit is gone
+				}
+			}
+			// the types of the unit are all added back below, removed types included
+			for (Map.Entry<IJavaProject, Map<String, List<IType>>> entry : SUBTYPES.entrySet()) {
+				if (JavaModelChanges.isVisibleFrom(entry.getKey(), primary)) {
+					Map<String, List<IType>> projectSubtypes = entry.getValue();
+					synchronized (projectSubtypes) {
+						projectSubtypes.values().forEach(subtypes -> subtypes.removeIf(subtype -> primary.equals(subtype.getCompilationUnit())));
+					}
+				}
+			}
+			addSubtypes(changedTypes);
+			return;
+		} else if (delta.getKind() == IJavaElementDelta.ADDED) {
+			// member types of an added type have no delta of their own
+			addWithMemberTypes((IType)delta.getElement().getPrimaryElement(), changedTypes);
+		} else {
+			changedTypes.add((IType)delta.getElement().getPrimaryElement());
+		}
+		boolean removed = delta.getKind() == IJavaElementDelta.REMOVED;
+		for (Map.Entry<IJavaProject, Map<String, List<IType>>> entry : SUBTYPES.entrySet()) {
+			Map<String, List<IType>> projectSubtypes = entry.getValue();
+			for (IType changedType : changedTypes) {
+				if (JavaModelChanges.isVisibleFrom(entry.getKey(), changedType)) {
+					synchronized (projectSubtypes) {
+						projectSubtypes.values().forEach(subtypes -> subtypes.removeIf(subtype -> isSameOrNested(subtype, changedType, removed)));
+					}
+				}
+			}
+		}
+		if (!removed) {
+			addSubtypes(changedTypes);
+		}
+	}
+
+	/**
+	 * Adds the given types to the subtypes of their super types, in the projects that can see them.
+	 */
+	private static void addSubtypes(List<IType> types) {
+		for (IType type : types) {
+			if (type.isAnonymous()) {
+				continue;
+			}
+			List<String> superTypeNames = null;
+			for (Map.Entry<IJavaProject, Map<String, List<IType>>> entry : SUBTYPES.entrySet()) {
+				if (!JavaModelChanges.isVisibleFrom(entry.getKey(), type)) {
+					continue;
+				}
+				if (superTypeNames == null) {
+					superTypeNames = resolvedSuperTypeNames(type);
+				}
+				for (String superTypeName : superTypeNames) {
+					List<IType> subtypes = entry.getValue().get(superTypeName);
+					if (subtypes != null) {
+						subtypes.add(type);
+					}
+				}
+			}
+		}
+	}
+
+	private static void addWithMemberTypes(IType type, List<IType> res) {
+		res.add(type);
+		try {
+			for (IType memberType : type.getTypes()) {
+				addWithMemberTypes(memberType, res);
+			}
+		} catch (JavaModelException e) {
+			// no member types
+		}
+	}
+
+	private static boolean isSameOrNested(IType type, IType container, boolean includeNested) {
+		if (!includeNested) {
+			return type.equals(container);
+		}
+		for (IType current = type; current != null; current = current.getDeclaringType()) {
+			if (current.equals(container)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static List<String> resolvedSuperTypeNames(IType type) {
+		List<String> res = new ArrayList<>();
+		try {
+			List<String> names = new ArrayList<>(List.of(type.getSuperInterfaceNames()));
+			if (type.getSuperclassName() != null) {
+				names.add(type.getSuperclassName());
+			} else if (type.isEnum()) {
+				res.add("java.lang.Enum"); //$NON-NLS-1$
+			} else if (type.isRecord()) {
+				res.add("java.lang.Record"); //$NON-NLS-1$
+			} else if (type.isClass()) {
+				res.add("java.lang.Object"); //$NON-NLS-1$
+			}
+			for (String name : names) {
+				int typeArgumentsStart = name.indexOf('<');
+				String[][] resolved = type.resolveType(typeArgumentsStart < 0 ? name : name.substring(0, typeArgumentsStart));
+				if (resolved != null) {
+					for (String[] packageAndType : resolved) {
+						res.add(packageAndType[0].isEmpty() ? packageAndType[1] : packageAndType[0] + '.' + packageAndType[1]);
+					}
+				}
+			}
+		} catch (JavaModelException e) {
+			// type is gone
+		}
+		return res;
+	}
+}
@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.codeassist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+import org.eclipse.jdt.internal.javac.JavaModelChanges;
+
+/**
+ * In-memory index of the type names visible from a project (primary working copies included),
+ * used by {@link DOMCompletionEngine} instead of querying the search indexes on each completion.
+ *
+ * The index is built once per project in a background job by enumerating all the type names;
+ * until it is ready, callers are expected to fall back to the {@link SearchEngine}.
+ * Names are kept sorted (case insensitive) so that prefix and camel case queries only visit the
+ * names sharing the first characters of the pattern; substring and subword queries visit all of them.
+ *
+ * Java model deltas keep it up to date: changed or reconciled compilation units are re-read
+ * into an overlay, while any classpath, archive or package level change drops the index.
+ */
+class DOMTypeNameIndex {
+
+	private record Entry(String lowerCaseName, TypeNameMatch match, ICompilationUnit unit) {
+		private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::lowerCaseName);
+	}
+
+	private static final Map<IJavaProject, DOMTypeNameIndex> INDEXES = new ConcurrentHashMap<>();
+
+	static {
+		JavaModelChanges.addListener(DOMTypeNameIndex::elementChanged, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private final IJavaProject project;
+	private volatile Entry[] entries;
+	/// types of the compilation units changed since the index was built, replacing their entries in {@link #entries}
+	private final Map<ICompilationUnit, List<Entry>> overlay = new ConcurrentHashMap<>();
+
+	private DOMTypeNameIndex(IJavaProject project) {
+		this.project = project;
+	}
+
+	/**
+	 * @return the index for the given project if it's ready, <code>null</code> otherwise
+	 * 	(an index is then scheduled to be built)
+	 */
+	static DOMTypeNameIndex get(IJavaProject project) {
+		if (project == null) {
+			return null;
+		}
+		DOMTypeNameIndex res = INDEXES.computeIfAbsent(project, p -> {
+			DOMTypeNameIndex index = new DOMTypeNameIndex(p);
+			index.scheduleBuild();
+			return index;
+		});
+		return res.entries != null ? res : null;
+	}
+
+	private void scheduleBuild() {
+		Job job = Job.create("Indexing type names of " + this.project.getElementName(), this::build); //$NON-NLS-1$
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	private void build(IProgressMonitor monitor) {
+		List<Entry> res = new ArrayList<>();
+		try {
+			new SearchEngine().searchAllTypeNames(null, SearchPattern.R_EXACT_MATCH, null, SearchPattern.R_PREFIX_MATCH,
+					IJavaSearchConstants.TYPE, SearchEngine.createJavaSearchScope(new IJavaElement[] { this.project }),
+					new TypeNameMatchRequestor() {
+						@Override
+						public void acceptTypeNameMatch(TypeNameMatch match) {
+							res.add(entry(match));
+						}
+					}, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+		} catch (JavaModelException ex) {
+			ILog.get().error(ex.getMessage(), ex);
+			INDEXES.remove(this.project, this);
+			return;
+		}
+		if (monitor.isCanceled() || INDEXES.get(this.project) != this) {
+			INDEXES.remove(this.project, this);
+			return;
+		}
+		Entry[] sorted = res.toArray(Entry[]::new);
+		Arrays.sort(sorted, Entry.ORDER);
+		this.entries = sorted;
+	}
+
+	private static Entry entry(TypeNameMatch match) {
+		IType type = match.getType();
+		ICompilationUnit unit = type.getCompilationUnit();
+		return new Entry(match.getSimpleTypeName().toLowerCase(Locale.ROOT), match, unit == null ? null : unit.getPrimary());
+	}
+
+	/**
+	 * Equivalent of {@link SearchEngine#searchAllTypeNames(char[], int, char[], int, int, org.eclipse.jdt.core.search.IJavaSearchScope, TypeNameMatchRequestor, int, IProgressMonitor)}
+	 * with an exact package match.
+	 *
+	 * @param packageName the package name, or <code>null</code> for any package
+	 * @param namePattern the simple name pattern, not qualified
+	 * @param matchRule the match rule for the name pattern
+	 * @param searchFor one of the {@link IJavaSearchConstants} type kinds
+	 * @return the matching types
+	 */
+	Stream<TypeNameMatch> find(String packageName, String namePattern, int matchRule, int searchFor) {
+		Entry[] snapshot = this.entries;
+		SearchPattern pattern = new SearchPattern(matchRule) {
+			@Override
+			public SearchPattern getBlankPattern() { return null; }
+		};
+		char[] name = namePattern.toCharArray();
+		char[] packageChars = packageName == null ? null : packageName.toCharArray();
+		boolean scanAll = name.length == 0 || (matchRule & (SearchPattern.R_SUBSTRING_MATCH | SearchPattern.R_SUBWORD_MATCH | SearchPattern.R_PATTERN_MATCH | SearchPattern.R_REGEXP_MATCH)) != 0;
+		String lowerCasePrefix = scanAll ? "" : //$NON-NLS-1$
+			(matchRule & SearchPattern.R_CAMELCASE_MATCH) != 0 ? namePattern.substring(0, 1).toLowerCase(Locale.ROOT) :
+			namePattern.toLowerCase(Locale.ROOT);
+		int from = 0;
+		int to = snapshot.length;
+		if (!lowerCasePrefix.isEmpty()) {
+			from = lowerBound(snapshot, lowerCasePrefix);
+			to = lowerBound(snapshot, lowerCasePrefix + Character.MAX_VALUE);
+		}
+		Stream<Entry> base = Arrays.stream(snapshot, from, to)
+				.filter(entry -> entry.unit() == null || !this.overlay.containsKey(entry.unit()));
+		Stream<Entry> changed = this.overlay.values().stream().flatMap(List::stream)
+				.filter(entry -> entry.lowerCaseName().startsWith(lowerCasePrefix));
+		return Stream.concat(base, changed)
+				.map(Entry::match)
+				.filter(match -> matchesKind(match.getModifiers(), searchFor))
+				.filter(match -> packageChars == null || CharOperation.equals(packageChars, match.getPackageName().toCharArray(), false))
+				.filter(match -> pattern.matchesName(name, match.getSimpleTypeName().toCharArray()));
+	}
+
+	private static int lowerBound(Entry[] entries, String lowerCaseName) {
+		int low = 0;
+		int high = entries.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (entries[mid].lowerCaseName().compareTo(lowerCaseName) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @return whether the given kind of search can be answered by the index
+	 */
+	static boolean supports(int searchFor) {
+		return switch (searchFor) {
+			case IJavaSearchConstants.TYPE, IJavaSearchConstants.CLASS, IJavaSearchConstants.INTERFACE,
+				IJavaSearchConstants.ENUM, IJavaSearchConstants.ANNOTATION_TYPE, IJavaSearchConstants.CLASS_AND_INTERFACE,
+				IJavaSearchConstants.CLASS_AND_ENUM, IJavaSearchConstants.INTERFACE_AND_ANNOTATION -> true;
+			default -> false;
+		};
+	}
+
+	private static boolean matchesKind(int modifiers, int searchFor) {
+		boolean isAnnotation = Flags.isAnnotation(modifiers);
+		boolean isInterface = Flags.isInterface(modifiers) && !isAnnotation;
+		boolean isEnum = Flags.isEnum(modifiers);
+		boolean isClass = !isInterface && !isAnnotation && !isEnum;
+		return switch (searchFor) {
+			case IJavaSearchConstants.CLASS -> isClass;
+			case IJavaSearchConstants.INTERFACE -> isInterface;
+			case IJavaSearchConstants.ENUM -> isEnum;
+			case IJavaSearchConstants.ANNOTATION_TYPE -> isAnnotation;
+			case IJavaSearchConstants.CLASS_AND_INTERFACE -> isClass || isInterface;
+			case IJavaSearchConstants.CLASS_AND_ENUM -> isClass || isEnum;
+			case IJavaSearchConstants.INTERFACE_AND_ANNOTATION -> isInterface || isAnnotation;
+			default -> true;
+		};
+	}
+
+	private void update(ICompilationUnit unit, boolean removed) {
+		List<Entry> types = new ArrayList<>();
+		if (!removed && unit.exists()) {
+			try {
+				for (IType type : unit.getAllTypes()) {
+					types.add(entry(SearchEngine.createTypeNameMatch(type, type.getFlags())));
+				}
+			} catch (JavaModelException ex) {
+				// unit is gone or broken, consider it has no types
+			}
+		}
+		this.overlay.put(unit, types);
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		if (!INDEXES.isEmpty()) {
+			processDelta(event.getDelta());
+		}
+	}
+
+	private static void processDelta(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+					|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+							| IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED)) != 0) {
+					// projects can see each others' types, simpler to drop everything
+					INDEXES.clear();
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+					|| (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+							| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_REORDER)) != 0) {
+					INDEXES.clear();
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					// children deltas are not always reported
+					INDEXES.clear();
+					return;
+				}
+				break;
+			case IJavaElement.CLASS_FILE:
+				// only expected for class folders, no per-file overlay for them
+				INDEXES.clear();
+				return;
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit unit = ((ICompilationUnit)element).getPrimary();
+				boolean removed = delta.getKind() == IJavaElementDelta.REMOVED;
+				for (DOMTypeNameIndex index : INDEXES.values()) {
+					if (JavaModelChanges.isVisibleFrom(index.project, unit)) {
+						index.update(unit, removed);
+					}
+				}
+				// don't go deeper than compilation units
+				return;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child);
+		}
+	}
+}
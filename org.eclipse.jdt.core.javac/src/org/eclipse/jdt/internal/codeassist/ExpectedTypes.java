@@ -13,6 +13,8 @@ package org.eclipse.jdt.internal.codeassist;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
@@ -82,6 +84,15 @@ public class ExpectedTypes {
 			ConditionalExpression.EXPRESSION_PROPERTY
 		);
 
+	/**
+	 * Result of a computation, kept by the {@link DOMCompletionSession} and reused by later requests
+	 * completing the same node of the same AST at the same offset (eg the different proposal computers
+	 * of a single completion).
+	 */
+	record Computed(List<ITypeBinding> expectedTypes, List<ITypeBinding> uninterestingBindings,
+			List<ITypeBinding> forbiddenBindings, Collection<TypeFilter> expectedTypesFilters) {
+	}
+
 	private final int offset;
 	private Collection<TypeFilter> expectedTypesFilters = Set.of(TypeFilter.SUPERTYPE, TypeFilter.SUBTYPE);
 	private final Collection<ITypeBinding> expectedTypes = new LinkedHashSet<>();
@@ -89,6 +100,7 @@ public class ExpectedTypes {
 	private final Collection<ITypeBinding> forbiddenBindings = new LinkedHashSet<>();
 	private final AssistOptions options;
 	private final ASTNode node;
+	private DOMCompletionSession session;
 	private boolean isReady;
 
 	public ExpectedTypes(AssistOptions options, ASTNode toComplete, int offset) {
@@ -97,6 +109,13 @@ public class ExpectedTypes {
 		this.node = toComplete;
 	}
 
+	/**
+	 * @param session the session keeping the computed types for the next requests, may be <code>null</code>
+	 */
+	void setSession(DOMCompletionSession session) {
+		this.session = session;
+	}
+
 	private void computeExpectedTypes(){
 		ASTNode parent2 = this.node;
 		// find the parent that contains type information
@@ -284,24 +303,16 @@ public class ExpectedTypes {
 		} else if (parent instanceof MethodInvocation messageSend) {
 			if (messageSend.getExpression() != null) {
 				final ITypeBinding initialBinding = messageSend.getExpression().resolveTypeBinding();
-				ITypeBinding currentBinding = initialBinding; // messageSend.actualReceiverType
 				boolean isStatic = messageSend.getExpression() instanceof Name name && name.resolveBinding() instanceof ITypeBinding;
-				while(currentBinding != null) {
+				if (initialBinding != null) {
+					// the methods of the super classes and interfaces are included, no need to visit them separately
 					computeExpectedTypesForMessageSend(
-							currentBinding,
-							messageSend.getName().toString(),
-							messageSend.arguments(),
 							initialBinding,
-							messageSend,
-							isStatic);
-					computeExpectedTypesForMessageSendForInterface(
-							currentBinding,
 							messageSend.getName().toString(),
 							messageSend.arguments(),
 							initialBinding,
 							messageSend,
 							isStatic);
-					currentBinding = currentBinding.getSuperclass();
 				}
 			} else {
 				// find the param
@@ -648,7 +659,7 @@ public class ExpectedTypes {
 		if (arguments == null)
 			return;
 
-		IMethodBinding[] methods = avaiableMethods(binding).toArray(IMethodBinding[]::new);
+		IMethodBinding[] methods = avaiableMethods(binding, selector).toArray(IMethodBinding[]::new);
 		nextMethod : for (IMethodBinding method : methods) {
 			if (method.isSynthetic()) continue nextMethod;
 
@@ -692,44 +703,6 @@ public class ExpectedTypes {
 			}
 		}
 	}
-	private void computeExpectedTypesForMessageSendForInterface(
-		ITypeBinding binding,
-		String selector,
-		List<Expression> arguments,
-		ITypeBinding receiverType,
-		ASTNode invocationSite,
-		boolean isStatic) {
-
-		ITypeBinding[] itsInterfaces = binding.getInterfaces();
-		int itsLength = itsInterfaces.length;
-		ITypeBinding[] interfacesToVisit = itsInterfaces;
-		int nextPosition = interfacesToVisit.length;
-
-		for (int i = 0; i < nextPosition; i++) {
-			ITypeBinding currentType = interfacesToVisit[i];
-			computeExpectedTypesForMessageSend(
-				currentType,
-				selector,
-				arguments,
-				receiverType,
-				invocationSite,
-				isStatic);
-
-			itsInterfaces = currentType.getInterfaces();
-			itsLength = itsInterfaces.length;
-			if (nextPosition + itsLength >= interfacesToVisit.length) {
-				System.arraycopy(interfacesToVisit, 0, interfacesToVisit = new ITypeBinding[nextPosition + itsLength + 5], 0, nextPosition);
-			}
-			nextInterface : for (int a = 0; a < itsLength; a++) {
-				ITypeBinding next = itsInterfaces[a];
-				for (int b = 0; b < nextPosition; b++) {
-					if (Objects.equals(next, interfacesToVisit[b])) continue nextInterface;
-				}
-				interfacesToVisit[nextPosition++] = next;
-			}
-		}
-	}
-
 
 	private static Optional<MethodDeclaration> findMethod(ASTNode node) {
 		while (node != null && !(node instanceof MethodDeclaration)) {
@@ -745,15 +718,34 @@ public class ExpectedTypes {
 	}
 
 	private LinkedHashSet<IMethodBinding> avaiableMethods(ITypeBinding typeBinding) {
+		return avaiableMethods(typeBinding, null);
+	}
+
+	/**
+	 * @param name the name of the methods to keep, or <code>null</code> for all
+	 * @return the methods of the given type and of its super types, each type being visited once
+	 */
+	private LinkedHashSet<IMethodBinding> avaiableMethods(ITypeBinding typeBinding, String name) {
 		LinkedHashSet<IMethodBinding> res = new LinkedHashSet<>();
-		res.addAll(Arrays.asList(typeBinding.getDeclaredMethods()));
+		collectMethods(typeBinding, name, res, Collections.newSetFromMap(new IdentityHashMap<>()));
+		return res;
+	}
+
+	private void collectMethods(ITypeBinding typeBinding, String name, Set<IMethodBinding> res, Set<ITypeBinding> visited) {
+		if (!visited.add(typeBinding)) {
+			return;
+		}
+		for (IMethodBinding method : typeBinding.getDeclaredMethods()) {
+			if (name == null || name.equals(method.getName())) {
+				res.add(method);
+			}
+		}
 		for (ITypeBinding interfac : typeBinding.getInterfaces()) {
-			res.addAll(avaiableMethods(interfac));
+			collectMethods(interfac, name, res, visited);
 		}
 		if (typeBinding.getSuperclass() != null) {
-			res.addAll(avaiableMethods(typeBinding.getSuperclass()));
+			collectMethods(typeBinding.getSuperclass(), name, res, visited);
 		}
-		return res;
 	}
 
 	private void addExpectedType(ITypeBinding expectedType) {
@@ -771,8 +763,20 @@ public class ExpectedTypes {
 
 	public List<ITypeBinding> getExpectedTypes() {
 		if (!this.isReady) {
-			computeExpectedTypes();
-			this.expectedTypes.removeIf(ITypeBinding::isNullType);
+			Computed computed = this.session != null && this.node != null ? this.session.expectedTypes(this.node, this.offset) : null;
+			if (computed != null) {
+				this.expectedTypes.addAll(computed.expectedTypes());
+				this.uninterestingBindings.addAll(computed.uninterestingBindings());
+				this.forbiddenBindings.addAll(computed.forbiddenBindings());
+				this.expectedTypesFilters = computed.expectedTypesFilters();
+			} else {
+				computeExpectedTypes();
+				this.expectedTypes.removeIf(ITypeBinding::isNullType);
+				if (this.session != null && this.node != null) {
+					this.session.putExpectedTypes(this.node, this.offset, new Computed(List.copyOf(this.expectedTypes),
+							List.copyOf(this.uninterestingBindings), List.copyOf(this.forbiddenBindings), this.expectedTypesFilters));
+				}
+			}
 			this.isReady = true;
 		}
 		return new ArrayList<>(this.expectedTypes);
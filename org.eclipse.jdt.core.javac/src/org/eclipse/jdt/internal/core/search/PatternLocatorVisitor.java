@@ -67,6 +67,7 @@ import org.eclipse.jdt.core.dom.TypeParameter;
 import org.eclipse.jdt.core.dom.UnionType;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.internal.core.search.matching.DOMPatternLocator;
+import org.eclipse.jdt.internal.core.search.matching.DOMSupertypeClosureCache;
 import org.eclipse.jdt.internal.core.search.matching.MatchLocator;
 import org.eclipse.jdt.internal.core.search.matching.NodeSetWrapper;
 import org.eclipse.jdt.internal.core.search.matching.PatternLocator;
@@ -86,6 +87,7 @@ public class PatternLocatorVisitor extends ASTVisitor {
 		this.locator = locator;
 		this.domPatternLocator = DOMPatternLocatorFactory.createWrapper(this.locator.patternLocator, locator.pattern);
 		if (this.domPatternLocator != null) {
+			domPatternLocator.setSupertypeClosureCache(DOMSupertypeClosureCache.of(locator));
 			domPatternLocator.initializePolymorphicSearch(locator);
 		}
 	}
@@ -46,6 +46,14 @@ public class DOMAndLocator extends DOMPatternLocator {
 		}
 	}
 
+	@Override
+	public void setSupertypeClosureCache(DOMSupertypeClosureCache cache) {
+		super.setSupertypeClosureCache(cache);
+		for (DOMPatternLocator child : this.children) {
+			child.setSupertypeClosureCache(cache);
+		}
+	}
+
 	public LocatorResponse match(org.eclipse.jdt.core.dom.Annotation node, NodeSetWrapper nodeSet, MatchLocator locator) {
 		return and(child -> child.match(node, nodeSet, locator));
 	}
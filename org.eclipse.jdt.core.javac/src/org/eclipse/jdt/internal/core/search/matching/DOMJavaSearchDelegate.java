@@ -25,10 +25,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import org.eclipse.core.resources.IResource;
@@ -126,6 +130,15 @@ import org.eclipse.jdt.internal.core.search.processing.JobManager;
 import org.eclipse.jdt.internal.core.util.Util;
 
 public class DOMJavaSearchDelegate implements IJavaSearchDelegate {
+
+	private static final long CLASS_FILE_CACHE_BYTES = 16 * 1024 * 1024;
+	// Contents of the class files read from archives, keyed by container path and entry name, so that
+	// successive searches do not re-open the jars. Only the bytes are kept, the readers are decoded again
+	// on each hit and released with the search.
+	private static final Map<String, CachedClassFile> CLASS_FILE_CACHE = new ConcurrentHashMap<>();
+	private static final AtomicLong CLASS_FILE_CACHE_SIZE = new AtomicLong();
+	private record CachedClassFile(byte[] bytes, long lastModified) {}
+
 	public DOMJavaSearchDelegate() {
 		// must be kept as it's used by an extension point
 	}
@@ -229,12 +242,14 @@ public class DOMJavaSearchDelegate implements IJavaSearchDelegate {
 				createAndReportMatch(locator, node, level, possibleMatch);
 			}
 		}
+		DOMSupertypeClosureCache.of(locator).traceStatistics();
 	}
 
 	private void createAndReportMatch(MatchLocator locator, ASTNode node, int level, PossibleMatch possibleMatch) throws CoreException {
 		SearchMatch match = toMatch(locator, node, level, possibleMatch);
 		if (match != null && match.getElement() != null) {
 			DOMPatternLocator locator2 = DOMPatternLocatorFactory.createWrapper(locator.patternLocator, locator.pattern);
+			locator2.setSupertypeClosureCache(DOMSupertypeClosureCache.of(locator));
 			locator2.setCurrentMatch(match);
 			locator2.setCurrentNode(node);
 			locator2.reportSearchMatch(locator, node, match);
@@ -725,22 +740,37 @@ public class DOMJavaSearchDelegate implements IJavaSearchDelegate {
 		if (classFile.isOpen())
 			return binaryType.getElementInfo(); // reuse the info from the java model cache
 
-		// create a temporary info
+		// create a temporary info, or reuse the one decoded by a previous search
 		IBinaryType info;
 		try {
 			PackageFragment pkg = (PackageFragment) classFile.getParent();
 			PackageFragmentRoot root = (PackageFragmentRoot) pkg.getParent();
+			String classFileName = classFile.getElementName();
+			String classFilePath = Util.concatWith(pkg.names, classFileName, '/');
+			String cacheKey = root.getPath().toString() + '|' + classFilePath;
+			long lastModified = root.isArchive() ? archiveLastModified(root) : 0; // only fully initialized readers are shared
+			CachedClassFile cached = CLASS_FILE_CACHE.get(cacheKey);
+			if (cached != null && lastModified != 0 && cached.lastModified() == lastModified) {
+				return new ClassFileReader(cached.bytes(), classFilePath.toCharArray(), true);
+			}
 			if (root.isArchive()) {
 				// class file in a jar
-				String classFileName = classFile.getElementName();
-				String classFilePath = Util.concatWith(pkg.names, classFileName, '/');
+				byte[] bytes = null;
 				ZipFile zipFile = null;
 				try {
 					zipFile = ((JarPackageFragmentRoot) root).getJar();
-					info = ClassFileReader.read(zipFile, classFilePath);
+					ZipEntry entry = zipFile.getEntry(classFilePath);
+					if (entry != null) {
+						bytes = org.eclipse.jdt.internal.compiler.util.Util.getZipEntryByteContent(entry, zipFile);
+					}
 				} finally {
 					JavaModelManager.getJavaModelManager().closeZipFile(zipFile);
 				}
+				if (bytes == null) throw binaryType.newNotPresentException();
+				info = new ClassFileReader(bytes, classFilePath.toCharArray(), true);
+				if (lastModified != 0) {
+					cacheClassFile(cacheKey, new CachedClassFile(bytes, lastModified));
+				}
 			} else {
 				// class file in a directory
 				info = Util.newClassFileReader(resource);
@@ -757,4 +787,29 @@ public class DOMJavaSearchDelegate implements IJavaSearchDelegate {
 		}
 	}
 
+	private static void cacheClassFile(String key, CachedClassFile classFile) {
+		if (classFile.bytes().length > CLASS_FILE_CACHE_BYTES / 64) {
+			return;
+		}
+		CachedClassFile previous = CLASS_FILE_CACHE.put(key, classFile);
+		long size = CLASS_FILE_CACHE_SIZE.addAndGet(classFile.bytes().length - (previous == null ? 0 : previous.bytes().length));
+		// no access order in a concurrent map: evict arbitrary entries, the next searches read them again
+		for (Iterator<Map.Entry<String, CachedClassFile>> it = CLASS_FILE_CACHE.entrySet().iterator(); size > CLASS_FILE_CACHE_BYTES && it.hasNext();) {
+			Map.Entry<String, CachedClassFile> entry = it.next();
+			if (CLASS_FILE_CACHE.remove(entry.getKey(), entry.getValue())) {
+				size = CLASS_FILE_CACHE_SIZE.addAndGet(-entry.getValue().bytes().length);
+			}
+		}
+	}
+
+	/**
+	 * @return the modification time of the archive, or <code>0</code> if unknown
+	 */
+	private static long archiveLastModified(PackageFragmentRoot root) {
+		IResource jarResource = root.getResource();
+		java.io.File jarFile = jarResource != null && jarResource.getLocation() != null ?
+				jarResource.getLocation().toFile() :
+				root.getPath().toFile();
+		return jarFile.lastModified();
+	}
 }
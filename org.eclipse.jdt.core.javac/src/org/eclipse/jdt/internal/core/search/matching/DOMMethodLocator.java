@@ -456,7 +456,7 @@ public class DOMMethodLocator extends DOMPatternLocator {
 								patternBinding = JdtCoreDomPackagePrivateUtility.findBindingForType(node, safePatternString);
 							}
 						}
-						boolean singleTypeArgMatches = TypeArgumentMatchingUtility.validateSingleTypeArgMatches(exactMatch, patternSig, patternBinding, domBinding, this.locator);
+						boolean singleTypeArgMatches = TypeArgumentMatchingUtility.validateSingleTypeArgMatches(exactMatch, patternSig, patternBinding, domBinding, this.locator, this.supertypeClosures);
 						if( !singleTypeArgMatches ) {
 							return DOMTypeReferenceLocator.TYPE_PARAMS_COUNT_MATCH;
 						}
@@ -575,7 +575,7 @@ public class DOMMethodLocator extends DOMPatternLocator {
 					continue;
 				}
 				boolean match =
-					TypeArgumentMatchingUtility.validateSingleTypeArgMatches(isExactPattern, goaliString, patternBinding, argBindings[i])
+					TypeArgumentMatchingUtility.validateSingleTypeArgMatches(isExactPattern, goaliString, patternBinding, argBindings[i], null, this.supertypeClosures)
 					| (bindingIsDeclaration && patternBinding != null && patternBinding.isCastCompatible(argBinding));
 				if( !match ) {
 					if( isExactPattern || (!isErasurePattern && !isEquivPattern)) {
@@ -669,7 +669,7 @@ public class DOMMethodLocator extends DOMPatternLocator {
 										String fromPatternString = new String(fromPattern);
 										boolean shouldSearch = !(node instanceof MethodDeclaration);
 										IBinding patternBinding = findPossiblyUnresolvedBindingForType(node, fromPatternString, shouldSearch);
-										boolean match = TypeArgumentMatchingUtility.validateSingleTypeArgMatches(isExactPattern, fromPatternString, patternBinding, fromBinding);
+										boolean match = TypeArgumentMatchingUtility.validateSingleTypeArgMatches(isExactPattern, fromPatternString, patternBinding, fromBinding, null, this.supertypeClosures);
 										if( !match ) {
 											newLevel = INACCURATE_MATCH;
 										}
@@ -968,8 +968,10 @@ public class DOMMethodLocator extends DOMPatternLocator {
 		String packageBindingName = packageBinding != null ? packageBinding.getName() : null;
 		ITypeBinding[] parameterTypes = useNullParameterTypes ? null : invocationOrDeclarationBinding.getParameterTypes();
 		String bindingName = invocationOrDeclarationBinding.getName();
-		retLevel = resolveLevelAsSubtype(this.pattern.declaringSimpleName, this.pattern.declaringQualification,
-				receiverType, bindingName, parameterTypes, packageBindingName, isDefault, invocationOrDeclarationBinding);
+		ITypeBinding finalReceiverType = receiverType;
+		retLevel = this.supertypeClosures.subtypeLevel(subtypeLevelKey(receiverType, bindingName, parameterTypes, packageBindingName, isDefault, invocationOrDeclarationBinding),
+				() -> resolveLevelAsSubtype(this.pattern.declaringSimpleName, this.pattern.declaringQualification,
+						finalReceiverType, bindingName, parameterTypes, packageBindingName, isDefault, invocationOrDeclarationBinding));
 		if (retLevel == IMPOSSIBLE_MATCH) {
 			if (invocationOrDeclarationBinding.getDeclaringClass() == null || this.allSuperDeclaringTypeNames == null) {
 				retLevel = INACCURATE_MATCH;
@@ -985,6 +987,36 @@ public class DOMMethodLocator extends DOMPatternLocator {
 		return retLevel;
 	}
 
+	/*
+	 * The level computed by resolveLevelAsSubtype only depends on the pattern and on the names
+	 * found in the receiver hierarchy, so it can be shared between all the invocations
+	 * with the same receiver type and method during the search.
+	 */
+	private List<Object> subtypeLevelKey(ITypeBinding receiverType, String methodName, ITypeBinding[] parameterTypes,
+			String packageName, boolean isDefault, IMethodBinding originalQuery) {
+		if (receiverType.isRecovered() || receiverType.getKey() == null) {
+			return null;
+		}
+		List<Object> res = new ArrayList<>();
+		res.add(this.pattern);
+		res.add(receiverType.getKey());
+		res.add(methodName);
+		res.add(Objects.toString(packageName));
+		res.add(isDefault);
+		res.add(originalQuery.getDeclaringClass() == null ? "" : originalQuery.getDeclaringClass().getErasure().getQualifiedName()); //$NON-NLS-1$
+		if (parameterTypes != null) {
+			for (ITypeBinding parameterType : parameterTypes) {
+				if (parameterType == null || parameterType.isRecovered()) {
+					return null;
+				}
+				res.add(parameterType.getErasure().getKey());
+			}
+		} else {
+			res.add(null);
+		}
+		return res;
+	}
+
 	protected boolean isVirtualInvoke(IMethodBinding method, boolean checkDeclaringQualification) {
 		// This method makes absolutely zero sense to me.
 		String pkgName = method == null ? null :
@@ -50,6 +50,14 @@ public class DOMOrLocator extends DOMPatternLocator {
 		}
 	}
 
+	@Override
+	public void setSupertypeClosureCache(DOMSupertypeClosureCache cache) {
+		super.setSupertypeClosureCache(cache);
+		for (DOMPatternLocator child : this.children) {
+			child.setSupertypeClosureCache(cache);
+		}
+	}
+
 	public LocatorResponse match(org.eclipse.jdt.core.dom.Annotation node, NodeSetWrapper nodeSet, MatchLocator locator) {
 		return or(child -> child.match(node, nodeSet, locator));
 	}
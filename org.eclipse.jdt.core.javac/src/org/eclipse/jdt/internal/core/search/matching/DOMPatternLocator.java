@@ -44,11 +44,21 @@ import org.eclipse.jdt.internal.javac.dom.JavacTypeBinding;
 
 public class DOMPatternLocator extends PatternLocator {
 	protected ASTNode currentNode;
+	protected DOMSupertypeClosureCache supertypeClosures = new DOMSupertypeClosureCache();
 
 	public DOMPatternLocator(SearchPattern pattern) {
 		super(pattern);
 	}
 
+	/**
+	 * Shares the supertype closures computed during the current search with this locator.
+	 */
+	public void setSupertypeClosureCache(DOMSupertypeClosureCache cache) {
+		if (cache != null) {
+			this.supertypeClosures = cache;
+		}
+	}
+
 	protected static LocatorResponse toResponse(int val) {
 		return toResponse(val, false);
 	}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.matching;
+
+import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.IntSupplier;
+
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
+import org.eclipse.jdt.internal.javac.dom.JavacTypeBinding;
+
+/**
+ * Per-search cache of flattened super type hierarchies, shared by all the DOM locators
+ * working for the same {@link MatchLocator}.
+ *
+ * Entries are keyed by binding key and only hold strings, so that they can be reused
+ * across the different ASTs (and binding resolvers) of a search.
+ */
+public class DOMSupertypeClosureCache {
+
+	private static final Map<MatchLocator, DOMSupertypeClosureCache> CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * The supertype closure of a type.
+	 *
+	 * @param signature the generic signature of the type itself
+	 * @param superTypeSignatures the generic signatures of all the direct and indirect super types (excluding the type itself)
+	 */
+	public record Closure(String signature, Set<String> superTypeSignatures) {
+		private static final Closure EMPTY = new Closure(null, Set.of());
+	}
+
+	private final Map<String, Closure> closures = new HashMap<>();
+	private final Set<String> inProgress = new HashSet<>();
+	private final Map<List<Object>, Integer> subtypeLevels = new HashMap<>();
+	private int hits;
+	private int misses;
+
+	public static DOMSupertypeClosureCache of(MatchLocator locator) {
+		if (locator == null) {
+			return new DOMSupertypeClosureCache();
+		}
+		return CACHES.computeIfAbsent(locator, l -> new DOMSupertypeClosureCache());
+	}
+
+	/**
+	 * @return the supertype closure of the given type, or <code>null</code> if the type is <code>null</code>
+	 */
+	public Closure get(ITypeBinding type) {
+		if (type == null) {
+			return null;
+		}
+		String key = type.getKey();
+		if (key == null || type.isRecovered()) {
+			// no stable key, don't pollute the cache
+			return compute(type);
+		}
+		Closure res = this.closures.get(key);
+		if (res != null) {
+			this.hits++;
+			return res;
+		}
+		if (!this.inProgress.add(key)) {
+			// cycle in an erroneous hierarchy
+			return Closure.EMPTY;
+		}
+		try {
+			this.misses++;
+			res = compute(type);
+			this.closures.put(key, res);
+			return res;
+		} finally {
+			this.inProgress.remove(key);
+		}
+	}
+
+	private Closure compute(ITypeBinding type) {
+		Set<String> superTypeSignatures = new LinkedHashSet<>();
+		ITypeBinding superclass = type.getSuperclass();
+		ITypeBinding[] interfaces = type.getInterfaces();
+		ITypeBinding[] supers = new ITypeBinding[interfaces.length + 1];
+		System.arraycopy(interfaces, 0, supers, 0, interfaces.length);
+		supers[interfaces.length] = superclass;
+		for (ITypeBinding superType : supers) {
+			if (superType == null) {
+				continue;
+			}
+			superTypeSignatures.add(signature(superType));
+			superTypeSignatures.addAll(get(superType).superTypeSignatures());
+		}
+		return new Closure(signature(type), superTypeSignatures);
+	}
+
+	static String signature(ITypeBinding binding) {
+		return binding instanceof JavacTypeBinding jctb ? jctb.getGenericTypeSignature(false) : binding.getKey();
+	}
+
+	/**
+	 * Memoizes a match level computed by walking the hierarchy of a type.
+	 * @param key the identity of the computation, <code>null</code> to disable memoization
+	 */
+	public int subtypeLevel(List<Object> key, IntSupplier level) {
+		if (key == null) {
+			return level.getAsInt();
+		}
+		Integer res = this.subtypeLevels.get(key);
+		if (res != null) {
+			this.hits++;
+			return res.intValue();
+		}
+		this.misses++;
+		int computed = level.getAsInt();
+		this.subtypeLevels.put(key, computed);
+		return computed;
+	}
+
+	void traceStatistics() {
+		if (BasicSearchEngine.VERBOSE) {
+			trace("Supertype closure cache: " + this.hits + " hits, " + this.misses + " misses, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ this.closures.size() + " closures"); //$NON-NLS-1$
+		}
+	}
+}
@@ -399,7 +399,7 @@ public class DOMTypeReferenceLocator extends DOMPatternLocator {
 							patternBinding = JdtCoreDomPackagePrivateUtility.findBindingForType(node, safePatternString);
 						}
 					}
-					boolean singleTypeArgMatches = TypeArgumentMatchingUtility.validateSingleTypeArgMatches(exactMatch, patternSig, patternBinding, domBinding, this.locator);
+					boolean singleTypeArgMatches = TypeArgumentMatchingUtility.validateSingleTypeArgMatches(exactMatch, patternSig, patternBinding, domBinding, this.locator, this.supertypeClosures);
 					if( !singleTypeArgMatches ) {
 						return TYPE_PARAMS_COUNT_MATCH;
 					}
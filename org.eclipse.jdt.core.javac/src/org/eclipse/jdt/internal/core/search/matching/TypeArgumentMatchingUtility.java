@@ -11,9 +11,9 @@
 package org.eclipse.jdt.internal.core.search.matching;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.core.dom.IBinding;
@@ -28,6 +28,10 @@ public class TypeArgumentMatchingUtility {
 	}
 
 	public static boolean validateSingleTypeArgMatches(boolean requiresExactMatch, String patternSig, IBinding patternBinding, IBinding domBinding, PatternLocator locator) {
+		return validateSingleTypeArgMatches(requiresExactMatch, patternSig, patternBinding, domBinding, locator, new DOMSupertypeClosureCache());
+	}
+
+	public static boolean validateSingleTypeArgMatches(boolean requiresExactMatch, String patternSig, IBinding patternBinding, IBinding domBinding, PatternLocator locator, DOMSupertypeClosureCache closures) {
 		if (domBinding == null) {
 			return false;
 		}
@@ -84,7 +88,7 @@ public class TypeArgumentMatchingUtility {
 			if( domBinding instanceof ITypeBinding tb ) {
 				ITypeBinding bound = tb.getBound();
 				if( bound != null && bound != domBinding) {
-					return validateSingleTypeArgMatches(requiresExactMatch, patternSig, patternBinding, bound, locator);
+					return validateSingleTypeArgMatches(requiresExactMatch, patternSig, patternBinding, bound, locator, closures);
 				}
 			}
 			return false;
@@ -97,16 +101,15 @@ public class TypeArgumentMatchingUtility {
 		}
 
 		String patternKeyFromBinding = patternBinding == null ? null : patternBinding instanceof JavacTypeBinding jctb ? jctb.getGenericTypeSignature(false) : patternBinding.getKey();
-		List<IBinding> patternAncestors = new ArrayList<>();
+		Collection<String> patternAncestorKeys = List.of();
 		if( patternBinding instanceof ITypeBinding patternTypeBinding) {
 			if( patternSig.startsWith("+") || patternSig.startsWith("-")) {
-				patternAncestors = findAllSuperclassAndInterfaceBindingsForWildcard(patternTypeBinding);
+				patternAncestorKeys = findAllSuperclassAndInterfaceKeysForWildcard(patternTypeBinding, closures);
 			} else {
-				patternAncestors = findAllSuperclassAndInterfaceBindings(patternTypeBinding);
+				patternAncestorKeys = closures.get(patternTypeBinding).superTypeSignatures();
 			}
 		}
 
-		List<String> patternAncestorKeys = patternAncestors.stream().map(x -> x instanceof JavacTypeBinding jctb ? jctb.getGenericTypeSignature(false) : x.getKey()).collect(Collectors.toList());
 		if( patternSig.startsWith("-")) {
 			if( domSig.startsWith("-") || !domSig.startsWith("+")) {
 				String domKey = domBinding instanceof JavacTypeBinding jctb ? jctb.getGenericTypeSignature(false) : domBinding.getKey();
@@ -121,8 +124,7 @@ public class TypeArgumentMatchingUtility {
 				// There's no way ALL ancestors of dom can be a subclass of pattern unless pattern is java.lang.Object
 				return false;
 			} else {
-				List<IBinding> domHeirarchy = findAllSuperclassAndInterfaceBindingsForWildcard(domTypeBinding);
-				List<String> domHeirarchyStrings = domHeirarchy.stream().map(x -> x instanceof JavacTypeBinding jctb ? jctb.getGenericTypeSignature(false) : x.getKey()).collect(Collectors.toList());
+				Collection<String> domHeirarchyStrings = findAllSuperclassAndInterfaceKeysForWildcard(domTypeBinding, closures);
 				if( patternKeyFromBinding != null ) {
 					if( !resolvedPatternMatchesDom(patternSig.substring(1), patternKeyFromBinding, domTypeBinding, domHeirarchyStrings)) {
 						return false;
@@ -136,8 +138,7 @@ public class TypeArgumentMatchingUtility {
 		} else {
 			// pattern is a normal defined type, ex:  Exception
 			if( domSig.startsWith("-")) {
-				List<IBinding> domHeirarchy = findAllSuperclassAndInterfaceBindingsForWildcard(domTypeBinding);
-				List<String> domHeirarchyStrings = domHeirarchy.stream().map(x -> x instanceof JavacTypeBinding jctb ? jctb.getGenericTypeSignature(false) : x.getKey()).collect(Collectors.toList());
+				Collection<String> domHeirarchyStrings = findAllSuperclassAndInterfaceKeysForWildcard(domTypeBinding, closures);
 				if( patternKeyFromBinding == null && !domHeirarchyStrings.contains(patternKeyFromBinding))
 					return false;
 			} else if( domSig.startsWith("+")) {
@@ -174,7 +175,7 @@ public class TypeArgumentMatchingUtility {
 	}
 
 	private static boolean resolvedPatternMatchesDom(String patternSig, String patternKeyFromBinding, ITypeBinding domTypeBinding,
-			List<String> domHeirarchyStrings) {
+			Collection<String> domHeirarchyStrings) {
 		String k = domTypeBinding instanceof JavacTypeBinding jctb ? jctb.getGenericTypeSignature(false) : domTypeBinding.getKey();
 		if( isQuestionMark(k))
 			return true;
@@ -191,7 +192,7 @@ public class TypeArgumentMatchingUtility {
 	}
 
 	private static boolean unresolvedPatternMatchesDom(String patternSig, String domSig, ITypeBinding domTypeBinding,
-			List<String> domHeirarchyStrings) {
+			Collection<String> domHeirarchyStrings) {
 		boolean patternSigIsUnresolved = false;
 		String patternSigTrimmed = null;
 		if( patternSig.startsWith("Q")) {
@@ -222,43 +223,19 @@ public class TypeArgumentMatchingUtility {
 		boolean isQuestionMark = "+Ljava/lang/Object;".equals(k) || "+Ljava.lang.Object;".equals(k) || "+Qjava.lang.Object;".equals(k);
 		return isQuestionMark;
 	}
-	private static List<IBinding> findAllSuperclassAndInterfaceBindingsForWildcard(ITypeBinding binding) {
-		List<IBinding> ret = new ArrayList<>();
+	private static Collection<String> findAllSuperclassAndInterfaceKeysForWildcard(ITypeBinding binding, DOMSupertypeClosureCache closures) {
 		if( binding == null )
-			return ret;
+			return List.of();
 		// Sometimes we have a discovered binding which is already the bound...
 		ITypeBinding param = binding.isWildcardType() ? binding.getBound() : binding;
-		if( param != null ) {
-			ret.add(param);
-			fillAllSuperclassAndInterfaceBindings(param, ret);
-		} else {
+		if( param == null ) {
 			// for pure `?`
-			ret.add(binding);
+			return List.of(DOMSupertypeClosureCache.signature(binding));
 		}
+		DOMSupertypeClosureCache.Closure closure = closures.get(param);
+		List<String> ret = new ArrayList<>(closure.superTypeSignatures().size() + 1);
+		ret.add(closure.signature());
+		ret.addAll(closure.superTypeSignatures());
 		return ret;
 	}
-	private static List<IBinding> findAllSuperclassAndInterfaceBindings(ITypeBinding binding) {
-		List<IBinding> ret = new ArrayList<>();
-		if( binding == null )
-			return ret;
-		fillAllSuperclassAndInterfaceBindings(binding, ret);
-		return ret;
-	}
-	private static void fillAllSuperclassAndInterfaceBindings(ITypeBinding binding, List<IBinding> list) {
-		if( binding == null )
-			return;
-		ITypeBinding[] ifaces = binding.getInterfaces();
-		for( int q = 0; q < ifaces.length; q++ ) {
-			ITypeBinding oneInterface = ifaces[q];
-			if( oneInterface != null ) {
-				list.add(oneInterface);
-				fillAllSuperclassAndInterfaceBindings(oneInterface, list);
-			}
-		}
-		ITypeBinding superClaz = binding.getSuperclass();
-		if( superClaz != null ) {
-			list.add(superClaz);
-			fillAllSuperclassAndInterfaceBindings(superClaz, list);
-		}
-	}
 }
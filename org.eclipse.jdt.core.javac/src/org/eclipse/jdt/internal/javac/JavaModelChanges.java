@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.javac;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.core.JavaProject;
+
+/**
+ * The single Java model listener of this bundle, forwarding element changes to the static caches
+ * that depend on the Java model (type name and hierarchy indexes, Java element handles...).
+ *
+ * Caches register their listener once, when their class is initialized: they can't have content
+ * before that, and as they live as long as the bundle, listeners are never removed.
+ */
+public final class JavaModelChanges {
+
+	private record Listener(IElementChangedListener listener, int eventMask) {}
+
+	private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+	static {
+		JavaCore.addElementChangedListener(JavaModelChanges::elementChanged, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private JavaModelChanges() {
+	}
+
+	/**
+	 * @param listener notified of the element changes
+	 * @param eventMask the types of events to notify, <code>ElementChangedEvent.POST_CHANGE</code> and/or
+	 * 	<code>ElementChangedEvent.POST_RECONCILE</code>
+	 */
+	public static void addListener(IElementChangedListener listener, int eventMask) {
+		LISTENERS.add(new Listener(listener, eventMask));
+	}
+
+	/**
+	 * @return whether the given element is on the classpath of the given project, directly or through
+	 * 	the required projects (the exported ones of the required projects included)
+	 */
+	public static boolean isVisibleFrom(IJavaProject project, IJavaElement element) {
+		IJavaProject elementProject = element.getJavaProject();
+		if (project.equals(elementProject)) {
+			return project.isOnClasspath(element);
+		}
+		if (!(project instanceof JavaProject javaProject) || !elementProject.isOnClasspath(element)) {
+			return false;
+		}
+		try {
+			for (IClasspathEntry entry : javaProject.getExpandedClasspath()) {
+				if (entry.getEntryKind() == IClasspathEntry.CPE_PROJECT && entry.getPath().equals(elementProject.getPath())) {
+					return true;
+				}
+			}
+			return false;
+		} catch (JavaModelException e) {
+			// can't tell, assume it is
+			return true;
+		}
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		for (Listener listener : LISTENERS) {
+			if ((event.getType() & listener.eventMask()) != 0) {
+				try {
+					listener.listener().elementChanged(event);
+				} catch (RuntimeException e) {
+					// don't prevent the other caches from being updated
+					ILog.get().error(e.getMessage(), e);
+				}
+			}
+		}
+	}
+}
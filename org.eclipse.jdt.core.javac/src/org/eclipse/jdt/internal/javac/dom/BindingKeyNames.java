@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.javac.dom;
+
+/**
+ * Rewrites of javac flat names of local and anonymous types into the form used in binding keys.
+ *
+ * These are computed for every type key, so they scan the name by hand instead of using regular
+ * expressions; each method documents the regular expression replacement it is equivalent to.
+ */
+public final class BindingKeyNames {
+
+	private BindingKeyNames() {
+	}
+
+	/**
+	 * Separates the occurrence index of the first local type from its name, as in
+	 * <code>name.replaceFirst("\\$([0-9]+)([A-Za-z$_][A-Za-z$_0-9]*)", "\\$$1\\$$2").replaceFirst("\\$\\$", "\\$")</code>.
+	 *
+	 * @param name a flat name, eg <code>p/A$1Local</code>
+	 * @return the name with a <code>$</code> after the occurrence index, eg <code>p/A$1$Local</code>
+	 */
+	public static String separateLocalIndex(String name) {
+		int end = indexedIdentifierStart(name, 0);
+		String res = end < 0 ? name : name.substring(0, end) + '$' + name.substring(end);
+		int doubleDollar = res.indexOf("$$"); //$NON-NLS-1$
+		return doubleDollar < 0 ? res : res.substring(0, doubleDollar) + res.substring(doubleDollar + 1);
+	}
+
+	/**
+	 * Replaces the index of the first anonymous type by the given position, as in
+	 * <code>name.replaceFirst("\\$([0-9]+)([A-Za-z$_][A-Za-z$_0-9]*)", "\\$$1").replaceFirst("\\$([0-9]+)", "\\$" + position)</code>.
+	 *
+	 * @param name a flat name, as returned by {@link #separateLocalIndex(String)}
+	 * @param position the position of the type of the instance creation
+	 * @return the name with the anonymous index replaced by the position
+	 */
+	public static String anonymousName(String name, int position) {
+		int identifierStart = indexedIdentifierStart(name, 0);
+		if (identifierStart >= 0) {
+			int identifierEnd = identifierStart + 1;
+			while (identifierEnd < name.length() && isIdentifierPart(name.charAt(identifierEnd))) {
+				identifierEnd++;
+			}
+			name = name.substring(0, identifierStart) + name.substring(identifierEnd);
+		}
+		return replaceFirstIndex(name, position);
+	}
+
+	/**
+	 * Replaces the index and name of the first local type by the given position and name, as in
+	 * <code>name.replaceFirst("\\$([0-9]+)\\$.*", "\\$" + position + "\\$" + simpleName)</code>, or if it doesn't change
+	 * the name, <code>name.replaceFirst("\\$([0-9]+)", "\\$" + position)</code>.
+	 *
+	 * @param name a flat name, as returned by {@link #separateLocalIndex(String)}
+	 * @param position the position of the name of the local type declaration
+	 * @param simpleName the name of the local type
+	 * @return the name with the local index and name replaced
+	 */
+	public static String localName(String name, int position, String simpleName) {
+		for (int dollar = name.indexOf('$'); dollar >= 0; dollar = name.indexOf('$', dollar + 1)) {
+			int end = digitsEnd(name, dollar + 1);
+			if (end > dollar + 1 && end < name.length() && name.charAt(end) == '$') {
+				String res = name.substring(0, dollar) + '$' + position + '$' + simpleName;
+				if (!res.equals(name)) {
+					return res;
+				}
+				break;
+			}
+		}
+		return replaceFirstIndex(name, position);
+	}
+
+	/**
+	 * @param index the part of a flat name after the last <code>$</code>, eg <code>1Local</code>
+	 * @return the index without what follows its first digits, as in <code>index.replaceAll("([0-9]+).*", "$1")</code>
+	 */
+	public static String occurrenceIndex(String index) {
+		for (int i = 0; i < index.length(); i++) {
+			if (isDigit(index.charAt(i))) {
+				return index.substring(0, digitsEnd(index, i));
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * as in <code>name.replaceFirst("\\$([0-9]+)", "\\$" + position)</code>
+	 */
+	private static String replaceFirstIndex(String name, int position) {
+		for (int dollar = name.indexOf('$'); dollar >= 0; dollar = name.indexOf('$', dollar + 1)) {
+			int end = digitsEnd(name, dollar + 1);
+			if (end > dollar + 1) {
+				return name.substring(0, dollar + 1) + position + name.substring(end);
+			}
+		}
+		return name;
+	}
+
+	/**
+	 * @return the index of the first identifier start following a <code>$</code> and digits, -1 if none
+	 */
+	private static int indexedIdentifierStart(String name, int from) {
+		for (int dollar = name.indexOf('$', from); dollar >= 0; dollar = name.indexOf('$', dollar + 1)) {
+			int end = digitsEnd(name, dollar + 1);
+			if (end > dollar + 1 && end < name.length() && isIdentifierStart(name.charAt(end))) {
+				return end;
+			}
+		}
+		return -1;
+	}
+
+	private static int digitsEnd(String name, int from) {
+		int end = from;
+		while (end < name.length() && isDigit(name.charAt(end))) {
+			end++;
+		}
+		return end;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isIdentifierStart(char c) {
+		return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || c == '$' || c == '_';
+	}
+
+	private static boolean isIdentifierPart(char c) {
+		return isIdentifierStart(c) || isDigit(c);
+	}
+}
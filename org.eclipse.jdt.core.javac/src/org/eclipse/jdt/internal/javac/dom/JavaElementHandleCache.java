@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.internal.javac.dom;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.dom.JavacCompilationUnitResolver;
+import org.eclipse.jdt.internal.javac.JavaModelChanges;
+
+/**
+ * Java model types found for javac class symbols, shared by all the binding resolvers (each reconcile
+ * creates a new one) so that the Java model isn't walked again for types that were already found.
+ *
+ * Entries are keyed on the project, the working copy owner, the file object the symbol comes from and
+ * its flat name; they are plain handles, the bindings make them resolved. As handles of types stay valid
+ * while the content of their unit changes, the cache is only cleared when types, units, packages or
+ * classpaths are added, removed or changed in the Java model (the mock working copies created to resolve
+ * binding keys excepted). Types that are not found are not cached, they may be found after a change.
+ */
+class JavaElementHandleCache {
+
+	private static final int MAX_ENTRIES = 10_000;
+
+	private record Key(IJavaProject project, WorkingCopyOwner owner, String file, String flatName) {}
+
+	private static final Map<Key, IType> TYPES = Collections.synchronizedMap(new LinkedHashMap<>(MAX_ENTRIES, .75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, IType> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	});
+	private static final int STRUCTURAL_FLAGS = IJavaElementDelta.F_CLASSPATH_CHANGED
+		| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+		| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+		| IJavaElementDelta.F_ADDED_TO_CLASSPATH
+		| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+		| IJavaElementDelta.F_PRIMARY_WORKING_COPY
+		| IJavaElementDelta.F_MOVED_FROM
+		| IJavaElementDelta.F_MOVED_TO
+		| IJavaElementDelta.F_OPENED
+		| IJavaElementDelta.F_CLOSED;
+
+	static {
+		JavaModelChanges.addListener(JavaElementHandleCache::elementChanged, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private JavaElementHandleCache() {
+	}
+
+	/**
+	 * @param project the project of the resolver
+	 * @param owner the working copy owner of the resolver
+	 * @param file the name of the file object the type comes from, or <code>null</code>
+	 * @param flatName the flat name of the type
+	 * @param finder walks the Java model to find the type, only called if not known yet
+	 * @return the type, or <code>null</code> if it can't be found
+	 */
+	static IType get(IJavaProject project, WorkingCopyOwner owner, String file, String flatName, Supplier<IType> finder) {
+		Key key = new Key(project, owner, file, flatName);
+		IType res = TYPES.get(key);
+		if (res == null) {
+			// not in computeIfAbsent: finding the type may be long and shouldn't block other lookups
+			res = finder.get();
+			if (res != null) {
+				TYPES.put(key, res);
+			}
+		}
+		return res;
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		if (!TYPES.isEmpty() && isStructural(event.getDelta())) {
+			TYPES.clear();
+		}
+	}
+
+	/**
+	 * @return whether the delta may change the types found for a name
+	 */
+	private static boolean isStructural(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		if (element.getElementType() > IJavaElement.TYPE) {
+			// member changes don't affect types
+			return false;
+		}
+		if (element.getElementType() == IJavaElement.PACKAGE_FRAGMENT && element.getElementName().startsWith(JavacCompilationUnitResolver.MOCK_PACKAGE_PREFIX)) {
+			// mock working copies, created and discarded by each createBindings
+			return false;
+		}
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & STRUCTURAL_FLAGS) != 0) {
+			return true;
+		}
+		if ((delta.getFlags() & IJavaElementDelta.F_CONTENT) != 0 && (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+			// content changed without telling which types changed
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isStructural(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
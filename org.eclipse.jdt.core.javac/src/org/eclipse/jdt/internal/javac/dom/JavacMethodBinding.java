@@ -82,6 +82,7 @@ public abstract class JavacMethodBinding implements IMethodBinding {
 	private IMethod javaElement;
 	private String key;
 	private List<Type> resolvedTypeArgs;
+	private int hash; // 0 until computed
 
 	/**
 	 *
@@ -119,18 +120,25 @@ public abstract class JavacMethodBinding implements IMethodBinding {
 
 	@Override
 	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
 		return obj instanceof JavacMethodBinding other
-				&& Objects.equals(this.resolver, other.resolver)
+				&& this.resolver == other.resolver
 				&& Objects.equals(this.methodSymbol, other.methodSymbol)
-				&& equals(this.methodType, other.methodType) // workaround non-uniqueness MethodType and missing equals/hashCode (ASTConverter15JLS8Test.test0214)
-				&& Objects.equals(this.explicitSynthetic, other.explicitSynthetic)
+				&& this.explicitSynthetic == other.explicitSynthetic
+				&& this.isDeclaration == other.isDeclaration
 				&& Objects.equals(this.parentType, other.parentType)
-				&& Objects.equals(this.isDeclaration, other.isDeclaration);
+				&& hashCode() == other.hashCode()
+				&& equals(this.methodType, other.methodType); // workaround non-uniqueness MethodType and missing equals/hashCode (ASTConverter15JLS8Test.test0214)
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.resolver, this.methodSymbol, this.parentType, this.explicitSynthetic, this.isDeclaration) ^ hashCode(this.methodType);
+		if (this.hash == 0) {
+			this.hash = Objects.hash(this.resolver, this.methodSymbol, this.parentType, this.explicitSynthetic, this.isDeclaration) ^ hashCode(this.methodType);
+		}
+		return this.hash;
 	}
 
 	private static boolean equals(ExecutableType second, ExecutableType first) {
@@ -492,7 +500,7 @@ public abstract class JavacMethodBinding implements IMethodBinding {
 	@Override
 	public String getKey() {
 		if (this.key == null) {
-			this.key = computeKey();
+			this.key = this.resolver.internKey(computeKey());
 		}
 		return this.key;
 	}
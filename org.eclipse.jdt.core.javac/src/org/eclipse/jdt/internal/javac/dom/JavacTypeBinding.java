@@ -136,6 +136,7 @@ public abstract class JavacTypeBinding implements ITypeBinding {
 	private final Type[] alternatives;
 	private IJavaElement javaElement;
 	private String key;
+	private int hash; // structural hash, computed once as the type doesn't change; 0 until computed
 
 	public JavacTypeBinding(Type type, final TypeSymbol typeSymbol, Type[] alternatives, Symbol backupOwner, boolean likelyGeneric, JavacBindingResolver resolver) {
 		if (!JavacBindingResolver.isTypeOfType(type)) {
@@ -160,18 +161,25 @@ public abstract class JavacTypeBinding implements ITypeBinding {
 
 	@Override
 	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		// cheap checks first, structural comparison last
 		return obj instanceof JavacTypeBinding other
-				&& Objects.equals(this.resolver, other.resolver)
-				&& this.types.isSameType(this.type, ((JavacTypeBinding)obj).type)
-				&& Objects.equals(this.typeSymbol, other.typeSymbol)
-				&& Objects.equals(this.isGeneric, other.isGeneric)
-                && hashCode() == obj.hashCode();
+				&& this.resolver == other.resolver
+				&& this.typeSymbol == other.typeSymbol
+				&& this.isGeneric == other.isGeneric
+				&& hashCode() == obj.hashCode()
+				&& (this.type == other.type || this.types.isSameType(this.type, other.type));
 	}
 	@Override
 	public int hashCode() {
-	    int h = 31 * Objects.hash(this.resolver, this.typeSymbol, this.isGeneric);
-	    h = 31 * h + hashTypeStructure(this.type);
-	    return h;
+		if (this.hash == 0) {
+			int h = 31 * Objects.hash(this.resolver, this.typeSymbol, this.isGeneric);
+			h = 31 * h + hashTypeStructure(this.type);
+			this.hash = h;
+		}
+		return this.hash;
 	}
 
 	private static int hashTypeStructure(Type t) {
@@ -319,89 +327,100 @@ public abstract class JavacTypeBinding implements ITypeBinding {
 				}
 			}
 
-			JavaFileObject jfo = null;
-			if (classSymbol != null) {
-				if (classSymbol.classfile != null) {
-					jfo = classSymbol.classfile;
-				} else {
-					jfo = classSymbol.sourcefile;
-				}
-			}
-			ITypeRoot typeRoot = null;
-			if (jfo != null) {
-				var jarFile = this.resolver.context.get(JavacCompilationUnitResolver.FILE_OBJECTS_TO_JAR_KEY).get(jfo);
-				if (jarFile != null) {
-					IFile jarFileResource = ((IWorkspaceRoot)this.resolver.javaProject.getProject().getParent()).getFileForLocation(IPath.fromFile(jarFile));
-					if (jarFileResource != null
-						&& jarFileResource.exists()
-						&& JavaCore.create(jarFileResource) instanceof IPackageFragmentRoot pkgFragmentRoot) {
-						IClassFile classFile;
-						if (isLocal()) {
-							String classFileName = this.getDeclaringClass().getName() + "$" + getOccurrenceCount() + "$" + getName() + ".class";
-							classFile = pkgFragmentRoot.getPackageFragment(getPackage().getName()).getClassFile(classFileName);
-						} else {
-							classFile = pkgFragmentRoot.getPackageFragment(getPackage().getName()).getClassFile(getName() + ".class");
-						}
-						if (classFile.exists() && classFile instanceof IOrdinaryClassFile ordinary) {
-							return resolved(ordinary.getType());
-						}
-					}
-				} else {
-					var jfoFile = new File(jfo.getName());
-					var jfoPath = new Path(jfo.getName());
-					Stream<IFile> fileStream = jfoFile.isFile()	?
-							Arrays.stream(this.resolver.javaProject.getResource().getWorkspace().getRoot().findFilesForLocationURI(jfoFile.toURI())) :
-							jfoPath.segmentCount() > 1 ?
-								Stream.of(this.resolver.javaProject.getResource().getWorkspace().getRoot().getFile(jfoPath)) :
-								Stream.of();
-					typeRoot = fileStream
-						.map(JavaCore::create)
-						.filter(ITypeRoot.class::isInstance)
-						.map(ITypeRoot.class::cast)
-						.findAny()
-						.orElse(null);
-				}
+			JavaFileObject jfo = classSymbol.classfile != null ? classSymbol.classfile : classSymbol.sourcefile;
+			return resolved(JavaElementHandleCache.get(this.resolver.javaProject, this.resolver.getWorkingCopyOwner(),
+					jfo != null ? jfo.getName() : null, classSymbol.flatName().toString(), () -> findType(classSymbol)));
+		}
+		return null;
+	}
+
+	/**
+	 * Walks the Java model to find the type of the given symbol
+	 *
+	 * @return the type handle, not resolved, or <code>null</code> if not found
+	 */
+	private IType findType(ClassSymbol classSymbol) {
+		JavaFileObject jfo = null;
+		if (classSymbol != null) {
+			if (classSymbol.classfile != null) {
+				jfo = classSymbol.classfile;
+			} else {
+				jfo = classSymbol.sourcefile;
 			}
-			IType candidate = null;
-			if(typeRoot instanceof ICompilationUnit tmp) {
-				{
-					ICompilationUnit wc = tmp.findWorkingCopy(this.resolver.getWorkingCopyOwner());
-					if (wc != null) {
-						tmp = wc;
+		}
+		ITypeRoot typeRoot = null;
+		if (jfo != null) {
+			var jarFile = this.resolver.context.get(JavacCompilationUnitResolver.FILE_OBJECTS_TO_JAR_KEY).get(jfo);
+			if (jarFile != null) {
+				IFile jarFileResource = ((IWorkspaceRoot)this.resolver.javaProject.getProject().getParent()).getFileForLocation(IPath.fromFile(jarFile));
+				if (jarFileResource != null
+					&& jarFileResource.exists()
+					&& JavaCore.create(jarFileResource) instanceof IPackageFragmentRoot pkgFragmentRoot) {
+					IClassFile classFile;
+					if (isLocal()) {
+						String classFileName = this.getDeclaringClass().getName() + "$" + getOccurrenceCount() + "$" + getName() + ".class";
+						classFile = pkgFragmentRoot.getPackageFragment(getPackage().getName()).getClassFile(classFileName);
+					} else {
+						classFile = pkgFragmentRoot.getPackageFragment(getPackage().getName()).getClassFile(getName() + ".class");
 					}
-				}
-				String[] cleaned = cleanedUpName(this.type).split("\\$");
-				if( cleaned.length > 0 ) {
-					cleaned[0] = cleaned[0].substring(cleaned[0].lastIndexOf('.') + 1);
-				}
-				boolean done = false;
-				for( int i = 0; i < cleaned.length && !done; i++ ) {
-					if( candidate == null ) {
-						candidate = tmp.getType(cleaned[i]);
-					} else if( !candidate.isBinary()) {
-						candidate = candidate.getType(cleaned[i]);
+					if (classFile.exists() && classFile instanceof IOrdinaryClassFile ordinary) {
+						return ordinary.getType();
 					}
-					done |= (candidate == null);
-				}
-				if(candidate != null && candidate.exists()) {
-					return resolved(candidate);
 				}
+			} else {
+				var jfoFile = new File(jfo.getName());
+				var jfoPath = new Path(jfo.getName());
+				Stream<IFile> fileStream = jfoFile.isFile()	?
+						Arrays.stream(this.resolver.javaProject.getResource().getWorkspace().getRoot().findFilesForLocationURI(jfoFile.toURI())) :
+						jfoPath.segmentCount() > 1 ?
+							Stream.of(this.resolver.javaProject.getResource().getWorkspace().getRoot().getFile(jfoPath)) :
+							Stream.of();
+				typeRoot = fileStream
+					.map(JavaCore::create)
+					.filter(ITypeRoot.class::isInstance)
+					.map(ITypeRoot.class::cast)
+					.findAny()
+					.orElse(null);
 			}
-			try {
-				IType ret = this.resolver.javaProject.findType(cleanedUpName(this.type), this.resolver.getWorkingCopyOwner(), new NullProgressMonitor());
-				if (ret != null) {
-					return resolved(ret);
+		}
+		IType candidate = null;
+		if(typeRoot instanceof ICompilationUnit tmp) {
+			{
+				ICompilationUnit wc = tmp.findWorkingCopy(this.resolver.getWorkingCopyOwner());
+				if (wc != null) {
+					tmp = wc;
 				}
-				List<IType> foundTypes = findJavaElementThroughSearch();
-				if (!foundTypes.isEmpty()) {
-					return resolved(foundTypes.get(0));
+			}
+			String[] cleaned = cleanedUpName(this.type).split("\\$");
+			if( cleaned.length > 0 ) {
+				cleaned[0] = cleaned[0].substring(cleaned[0].lastIndexOf('.') + 1);
+			}
+			boolean done = false;
+			for( int i = 0; i < cleaned.length && !done; i++ ) {
+				if( candidate == null ) {
+					candidate = tmp.getType(cleaned[i]);
+				} else if( !candidate.isBinary()) {
+					candidate = candidate.getType(cleaned[i]);
 				}
-			} catch (JavaModelException ex) {
-				ILog.get().error(ex.getMessage(), ex);
+				done |= (candidate == null);
+			}
+			if(candidate != null && candidate.exists()) {
+				return candidate;
 			}
-			return resolved(candidate);
 		}
-		return null;
+		try {
+			IType ret = this.resolver.javaProject.findType(cleanedUpName(this.type), this.resolver.getWorkingCopyOwner(), new NullProgressMonitor());
+			if (ret != null) {
+				return ret;
+			}
+			List<IType> foundTypes = findJavaElementThroughSearch();
+			if (!foundTypes.isEmpty()) {
+				return foundTypes.get(0);
+			}
+		} catch (JavaModelException ex) {
+			ILog.get().error(ex.getMessage(), ex);
+		}
+		return candidate;
 	}
 
 	private List<IType> findJavaElementThroughSearch() {
@@ -455,39 +474,38 @@ public abstract class JavacTypeBinding implements ITypeBinding {
 	@Override
 	public String getKey() {
 		if (this.key == null) {
-			this.key = computeKey();
+			this.key = this.resolver.internKey(computeKey());
 		}
 		return this.key;
 	}
 
 	private String computeKey() {
 		if (isWildcardType() && this.type instanceof WildcardType wildcardType) {
-			String key = wildcardType.bound != null ?
-				getKey(wildcardType.bound.tsym.owner.asType(), wildcardType.bound.tsym.owner.flatName(), false, true) :
-				"";
-			key += "{" + getRank() + "}";
+			StringBuilder key = new StringBuilder();
+			if (wildcardType.bound != null) {
+				key.append(getKey(wildcardType.bound.tsym.owner.asType(), wildcardType.bound.tsym.owner.flatName(), false, true));
+			}
+			key.append('{').append(getRank()).append('}');
 			if (wildcardType.isUnbound()) {
 				// This is very wrong and is not parseable by KeyToSignature
 				// Should be something like Lg1/t/m/def/Generic;{0}*
-				key = key + '+' + this.resolver.resolveWellKnownType(Object.class.getName()).getKey();
+				key.append('+').append(this.resolver.resolveWellKnownType(Object.class.getName()).getKey());
 			} else if (wildcardType.isExtendsBound()) {
 				Type extendsBound = wildcardType.getExtendsBound();
 				if (extendsBound.isIntersection()) {
-					key += '*';
+					key.append('*');
 				} else {
-					key += '+';
-					key += getBound().getKey();
+					key.append('+').append(getBound().getKey());
 				}
 			} else if (wildcardType.isSuperBound()) {
 				Type superBound = wildcardType.getSuperBound();
 				if (superBound.isIntersection()) {
-					key += '*';
+					key.append('*');
 				} else {
-					key += '-';
-					key += getBound().getKey();
+					key.append('-').append(getBound().getKey());
 				}
 			}
-			return key;
+			return key.toString();
 		}
 		if (isArray()) {
 			return "[" + getComponentType().getKey();
@@ -724,30 +742,22 @@ public abstract class JavacTypeBinding implements ITypeBinding {
 			if (useSlashes) {
 				nameAsString = nameAsString.replace('.', '/');
 			}
-			nameAsString = nameAsString.replaceFirst("\\$([0-9]+)([A-Za-z$_][A-Za-z$_0-9]*)", "\\$$1\\$$2");
-			nameAsString = nameAsString.replaceFirst("\\$\\$", "\\$");
+			nameAsString = BindingKeyNames.separateLocalIndex(nameAsString);
 
 			if (typeToBuild.tsym.isAnonymous()) {
-				ASTNode node = resolver.symbolToDeclaration.get(typeToBuild.tsym);
+				ASTNode node = resolver.findNode(typeToBuild.tsym);
 				if (node != null && node.getParent() instanceof ClassInstanceCreation cic) {
-					nameAsString = nameAsString.replaceFirst("\\$([0-9]+)([A-Za-z$_][A-Za-z$_0-9]*)", "\\$$1");
-					nameAsString = nameAsString.replaceFirst("\\$([0-9]+)", "\\$" + cic.getType().getStartPosition());
+					nameAsString = BindingKeyNames.anonymousName(nameAsString, cic.getType().getStartPosition());
 				}
-			} else if(nameAsString.contains("$")){
+			} else if(nameAsString.indexOf('$') >= 0){
 				// local type
-				ASTNode node = resolver.symbolToDeclaration.get(typeToBuild.tsym);
+				ASTNode node = resolver.findNode(typeToBuild.tsym);
 				if (node instanceof TypeDeclaration localTypeDecl && localTypeDecl.getName() != null && localTypeDecl.getName().getStartPosition() >= 0) {
-					String newSuffix = "\\$" + localTypeDecl.getName().getStartPosition() + "\\$" + localTypeDecl.getName().getFullyQualifiedName();
-					String n2 = nameAsString.replaceFirst("\\$([0-9]+)\\$.*", newSuffix);
-					if( nameAsString.equals(n2)) {
-						// No change. Try with just the single dollar sign replacement
-						n2 = nameAsString.replaceFirst("\\$([0-9]+)", "\\$" + localTypeDecl.getName().getStartPosition());
-					}
-					nameAsString = n2;
+					nameAsString = BindingKeyNames.localName(nameAsString, localTypeDecl.getName().getStartPosition(), localTypeDecl.getName().getFullyQualifiedName());
 				}
 			}
-			currentTypeSignature += nameAsString;
 			builder.append(currentTypeSignature);
+			builder.append(nameAsString);
 
 			// This is a hack and will likely need to be enhanced
 			if (typeToBuild.tsym instanceof ClassSymbol classSymbol && !(classSymbol.type instanceof ErrorType) && classSymbol.owner instanceof PackageSymbol) {
@@ -868,8 +878,7 @@ public abstract class JavacTypeBinding implements ITypeBinding {
 				}
 			};
 			generator1.assembleSig(this.type);
-			String s111 = res1.toString().replaceAll("/", ".");
-			return s111;
+			return res1.toString().replace('/', '.');
 		}
 		return this.typeSymbol.flatName().toString();
 	}
@@ -1059,7 +1068,7 @@ public abstract class JavacTypeBinding implements ITypeBinding {
 	}
 
 	private JavacMethodBinding[] getDeclaredMethodsForRecords(ArrayList<Symbol> l) {
-		ASTNode node = this.resolver.symbolToDeclaration.get(this.typeSymbol);
+		ASTNode node = this.resolver.findNode(this.typeSymbol);
 		boolean isRecord = this.isRecord() && node instanceof RecordDeclaration;
 		if( !isRecord )
 			return null;
@@ -1826,7 +1835,7 @@ public abstract class JavacTypeBinding implements ITypeBinding {
 			String index = flatname.substring(flatname.lastIndexOf('$') + 1);
 			if (this.isLocal()) {
 				// for local types, the index is followed by the type name
-				index = index.replaceAll("([0-9]+).*", "$1");
+				index = BindingKeyNames.occurrenceIndex(index);
 			}
 			return Integer.parseInt(index);
 		}
@@ -218,7 +218,7 @@ public abstract class JavacVariableBinding implements IVariableBinding {
 	@Override
 	public String getKey() {
 		if (this.key == null) {
-			this.key = computeKey();
+			this.key = this.resolver.internKey(computeKey());
 		}
 		return this.key;
 	}
@@ -453,10 +453,8 @@ public abstract class JavacVariableBinding implements IVariableBinding {
 
 	@Override
 	public int getVariableId() {
-		if( this.resolver.symbolToDeclaration != null ) {
-			if (this.resolver.symbolToDeclaration.get(this.variableSymbol) instanceof VariableDeclaration decl) {
-				return decl.getStartPosition();
-			}
+		if (this.resolver.findNode(this.variableSymbol) instanceof VariableDeclaration decl) {
+			return decl.getStartPosition();
 		}
 		// FIXME: since we are not running code generation,
 		// the variable has not been assigned an offset,
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2025, Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.javac;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+/**
+ * Harness shared by the benchmarks of this bundle.
+ *
+ * Benchmarks are not part of the regular test run (their class names don't match the test includes),
+ * run them with <code>-Dtest=&lt;class name&gt;</code>. Each benchmark has a name: its parameters are read
+ * from the <code>&lt;name&gt;.&lt;parameter&gt;</code> system properties, and its results are printed and
+ * written as JSON to the file named by the <code>&lt;name&gt;.output</code> system property
+ * (<code>&lt;name&gt;.json</code> by default).
+ */
+final class BenchmarkSupport {
+
+	private BenchmarkSupport() {
+	}
+
+	/**
+	 * @return the value of the given parameter of the given benchmark
+	 */
+	static int parameter(String benchmark, String name, int defaultValue) {
+		return Integer.getInteger(benchmark + '.' + name, defaultValue);
+	}
+
+	/**
+	 * @return the value of the given parameter of the given benchmark
+	 */
+	static String parameter(String benchmark, String name, String defaultValue) {
+		return System.getProperty(benchmark + '.' + name, defaultValue);
+	}
+
+	/**
+	 * Prints the results of the given benchmark and writes them to its output file.
+	 *
+	 * @param results the results, whose values are numbers, strings, lists or maps of those
+	 */
+	static void report(String benchmark, Map<String, ?> results) throws IOException {
+		StringBuilder json = new StringBuilder();
+		appendJson(json, results, "");
+		json.append('\n');
+		System.out.println(json);
+		Files.writeString(Path.of(parameter(benchmark, "output", benchmark + ".json")), json);
+	}
+
+	private static void appendJson(StringBuilder json, Object value, String indent) {
+		if (value instanceof Map<?, ?> map) {
+			json.append("{\n");
+			for (Iterator<? extends Map.Entry<?, ?>> it = map.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<?, ?> entry = it.next();
+				json.append(indent).append("  \"").append(entry.getKey()).append("\": ");
+				appendJson(json, entry.getValue(), indent + "  ");
+				json.append(it.hasNext() ? ",\n" : "\n");
+			}
+			json.append(indent).append('}');
+		} else if (value instanceof List<?> list) {
+			json.append("[\n");
+			for (int i = 0; i < list.size(); i++) {
+				json.append(indent).append("  ");
+				appendJson(json, list.get(i), indent + "  ");
+				json.append(i < list.size() - 1 ? ",\n" : "\n");
+			}
+			json.append(indent).append(']');
+		} else if (value instanceof Number || value instanceof Boolean) {
+			json.append(value);
+		} else {
+			json.append('"').append(value).append('"');
+		}
+	}
+
+	/**
+	 * @return the used heap, after garbage collection
+	 */
+	static long usedHeapAfterGC() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		// a few rounds, until nothing more is collected
+		for (int i = 0; i < 10; i++) {
+			System.gc();
+			long current = runtime.totalMemory() - runtime.freeMemory();
+			if (current >= used) {
+				return current;
+			}
+			used = current;
+		}
+		return used;
+	}
+
+	/**
+	 * @return the AST of the given source, with bindings, resolved against the running JDK
+	 */
+	static CompilationUnit parseWithBindings(String unitName, String source) {
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(source.toCharArray());
+		parser.setUnitName(unitName);
+		parser.setEnvironment(null, null, null, true);
+		parser.setResolveBindings(true);
+		return (CompilationUnit)parser.createAST(new NullProgressMonitor());
+	}
+
+	/**
+	 * @return the bindings of all the names under the given node, in visit order
+	 */
+	static List<IBinding> resolveNames(ASTNode root) {
+		List<IBinding> bindings = new ArrayList<>();
+		root.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(SimpleName node) {
+				IBinding binding = node.resolveBinding();
+				if (binding != null) {
+					bindings.add(binding);
+				}
+				return true;
+			}
+		});
+		return bindings;
+	}
+}
@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * Copyright (c) 2025, Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.javac;
+
+import static org.eclipse.jdt.core.tests.javac.BenchmarkSupport.parameter;
+import static org.eclipse.jdt.core.tests.javac.BenchmarkSupport.parseWithBindings;
+import static org.eclipse.jdt.core.tests.javac.BenchmarkSupport.report;
+import static org.eclipse.jdt.core.tests.javac.BenchmarkSupport.resolveNames;
+import static org.eclipse.jdt.core.tests.javac.BenchmarkSupport.usedHeapAfterGC;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.FileASTRequestor;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.junit.Test;
+
+/**
+ * Benchmarks of the bindings of ASTs resolved with javac, see {@link BenchmarkSupport} to run them:
+ * <ul>
+ * <li><code>bindingHashBenchmark</code>: cost of bindings as keys of hash based collections, as used by the binding
+ * resolver caches and by clients collecting bindings in sets (parameters <code>classes</code>, <code>rounds</code>),</li>
+ * <li><code>bindingRetentionBenchmark</code>: heap retained by ASTs kept with their bindings, with and without the
+ * <code>org.eclipse.jdt.core.javac.compactBindings</code> system property (parameters <code>units</code>, <code>classes</code>),</li>
+ * <li><code>nodeMappingBenchmark</code>: memory and time spent mapping DOM nodes to javac trees when resolving the names of
+ * units of the JDK sources (parameters <code>units</code>, <code>package</code>).</li>
+ * </ul>
+ */
+public class BindingBenchmarks {
+
+	private static final String COMPACT_PROPERTY = "org.eclipse.jdt.core.javac.compactBindings";
+
+	@Test
+	public void bindingHash() throws Exception {
+		String benchmark = "bindingHashBenchmark";
+		int classes = parameter(benchmark, "classes", 200);
+		int rounds = parameter(benchmark, "rounds", 50);
+		CompilationUnit unit = parseWithBindings("Bench.java", generateSource("Bench", classes));
+		// names and expressions, with the duplicates a visitor naturally finds
+		List<IBinding> bindings = resolveNames(unit);
+		unit.accept(new ASTVisitor() {
+			@Override
+			public void preVisit(ASTNode node) {
+				if (node instanceof Expression expression && !(node instanceof SimpleName)) {
+					ITypeBinding type = expression.resolveTypeBinding();
+					if (type != null) {
+						bindings.add(type);
+					}
+				}
+			}
+		});
+		assertTrue("no binding resolved", bindings.size() > classes);
+
+		Map<String, Object> results = new LinkedHashMap<>();
+		results.put("bindings", bindings.size());
+		results.put("distinctBindings", new HashSet<>(bindings).size());
+		results.put("mapPutNanosPerOp", measure(bindings, rounds, all -> {
+			Map<IBinding, IBinding> map = new HashMap<>();
+			all.forEach(binding -> map.put(binding, binding));
+			return map.size();
+		}));
+		Map<IBinding, IBinding> filled = new HashMap<>();
+		bindings.forEach(binding -> filled.put(binding, binding));
+		results.put("mapGetNanosPerOp", measure(bindings, rounds, all -> {
+			int found = 0;
+			for (IBinding binding : all) {
+				if (filled.get(binding) != null) {
+					found++;
+				}
+			}
+			return found;
+		}));
+		results.put("setDedupeNanosPerOp", measure(bindings, rounds, all -> {
+			Set<IBinding> set = new HashSet<>(all);
+			return set.size();
+		}));
+		report(benchmark, results);
+	}
+
+	@Test
+	public void bindingRetention() throws Exception {
+		String benchmark = "bindingRetentionBenchmark";
+		int units = parameter(benchmark, "units", 20);
+		int classes = parameter(benchmark, "classes", 50);
+		String initialValue = System.getProperty(COMPACT_PROPERTY);
+		try {
+			// warm up, so that shared caches don't count for the first mode
+			retain(false, 2, classes);
+			Map<String, Object> results = new LinkedHashMap<>();
+			results.put("units", units);
+			results.put("classesPerUnit", classes);
+			results.put("defaultBytesPerUnit", retain(false, units, classes) / units);
+			results.put("compactBytesPerUnit", retain(true, units, classes) / units);
+			report(benchmark, results);
+		} finally {
+			if (initialValue == null) {
+				System.clearProperty(COMPACT_PROPERTY);
+			} else {
+				System.setProperty(COMPACT_PROPERTY, initialValue);
+			}
+		}
+	}
+
+	@Test
+	public void nodeMapping() throws Exception {
+		String benchmark = "nodeMappingBenchmark";
+		int unitCount = parameter(benchmark, "units", 200);
+		String packagePath = parameter(benchmark, "package", "java.base/java/util/");
+		Path sources = extractJDKSources(packagePath, unitCount);
+		try {
+			String[] files;
+			try (var paths = Files.list(sources)) {
+				files = paths.map(Path::toString).sorted().toArray(String[]::new);
+			}
+			assertTrue("no JDK source found", files.length > 0);
+
+			long before = usedHeapAfterGC();
+			long start = System.nanoTime();
+			List<CompilationUnit> units = new ArrayList<>();
+			ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+			parser.setEnvironment(null, null, null, true);
+			parser.setResolveBindings(true);
+			parser.createASTs(files, null, new String[0], new FileASTRequestor() {
+				@Override
+				public void acceptAST(String sourceFilePath, CompilationUnit ast) {
+					units.add(ast);
+				}
+			}, new NullProgressMonitor());
+			long parseNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			List<IBinding> bindings = new ArrayList<>();
+			for (CompilationUnit unit : units) {
+				bindings.addAll(resolveNames(unit));
+			}
+			long resolveNanos = System.nanoTime() - start;
+			long retained = usedHeapAfterGC() - before;
+			assertTrue("no binding resolved", !bindings.isEmpty());
+
+			Map<String, Object> results = new LinkedHashMap<>();
+			results.put("units", units.size());
+			results.put("bindings", bindings.size());
+			results.put("parseMillis", parseNanos / 1_000_000);
+			results.put("resolveMillis", resolveNanos / 1_000_000);
+			results.put("retainedBytesPerUnit", retained / units.size());
+			report(benchmark, results);
+			Reference.reachabilityFence(units);
+			Reference.reachabilityFence(bindings);
+		} finally {
+			try (var paths = Files.list(sources)) {
+				for (Path path : paths.toList()) {
+					Files.delete(path);
+				}
+			}
+			Files.delete(sources);
+		}
+	}
+
+	private static double measure(List<IBinding> bindings, int rounds, ToIntFunction<List<IBinding>> workload) {
+		int blackhole = 0;
+		// warm up
+		for (int i = 0; i < rounds / 5 + 1; i++) {
+			blackhole += workload.applyAsInt(bindings);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < rounds; i++) {
+			blackhole += workload.applyAsInt(bindings);
+		}
+		long elapsed = System.nanoTime() - start;
+		assertTrue(blackhole > 0);
+		return (double)elapsed / ((long)rounds * bindings.size());
+	}
+
+	/**
+	 * @return the bytes retained by <code>count</code> units and their bindings
+	 */
+	private static long retain(boolean compact, int count, int classes) {
+		System.setProperty(COMPACT_PROPERTY, Boolean.toString(compact));
+		long before = usedHeapAfterGC();
+		List<Object> retained = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			CompilationUnit unit = parseWithBindings("Retained" + i + ".java", generateSource("Retained" + i, classes));
+			List<IBinding> bindings = resolveNames(unit);
+			assertTrue("no binding resolved", !bindings.isEmpty());
+			retained.add(unit);
+			retained.add(bindings);
+		}
+		long after = usedHeapAfterGC();
+		Reference.reachabilityFence(retained);
+		return after - before;
+	}
+
+	/**
+	 * @return a unit with the given number of generic classes using collections
+	 */
+	private static String generateSource(String typeName, int classes) {
+		StringBuilder source = new StringBuilder("import java.util.*;\nimport java.util.function.*;\npublic class " + typeName + " {\n");
+		for (int i = 0; i < classes; i++) {
+			source.append(String.format("""
+					/** Class {@link C%1$d} uses {@link List#add(Object)} */
+					static class C%1$d<T extends Comparable<T>> {
+						Map<String, List<T>> values = new HashMap<>();
+						List<? extends Number> numbers;
+						Optional<Map.Entry<String, T>> first(Function<T, String> keys) {
+							List<T> all = values.getOrDefault(keys.apply(null), List.of());
+							Map<String, T> byKey = new TreeMap<>();
+							for (T t : all) {
+								byKey.put(keys.apply(t), t);
+							}
+							return byKey.entrySet().stream().findFirst();
+						}
+						int count(C%1$d<T> other) {
+							return values.size() + other.values.size() + (numbers == null ? 0 : numbers.size());
+						}
+					}
+					""", i));
+		}
+		source.append("}\n");
+		return source.toString();
+	}
+
+	/**
+	 * @return a temporary directory with the first units of the given package of the JDK sources
+	 */
+	private static Path extractJDKSources(String packagePath, int count) throws Exception {
+		Path srcZip = Path.of(System.getProperty("java.home"), "lib", "src.zip");
+		assertTrue("JDK sources not found: " + srcZip, Files.isRegularFile(srcZip));
+		Path res = Files.createTempDirectory("nodeMapping");
+		try (ZipFile zip = new ZipFile(srcZip.toFile())) {
+			List<ZipEntry> entries = new ArrayList<>();
+			for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements();) {
+				ZipEntry entry = e.nextElement();
+				String name = entry.getName();
+				if (name.startsWith(packagePath) && name.endsWith(".java") && name.indexOf('/', packagePath.length()) < 0
+						&& !name.endsWith("package-info.java")) {
+					entries.add(entry);
+				}
+			}
+			entries.sort((a, b) -> a.getName().compareTo(b.getName()));
+			for (ZipEntry entry : entries.subList(0, Math.min(count, entries.size()))) {
+				try (var input = zip.getInputStream(entry)) {
+					Files.copy(input, res.resolve(entry.getName().substring(packagePath.length())));
+				}
+			}
+		}
+		return res;
+	}
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2025, Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.javac;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.jdt.internal.javac.dom.BindingKeyNames;
+import org.junit.Test;
+
+/**
+ * Checks that the name rewrites used for binding keys give the same results as the regular
+ * expressions they replace.
+ */
+public class BindingKeyNamesTests {
+
+	private static final String[] FLAT_NAMES = {
+		"A", "p/A", "p.A", "p/A$B", "p/A$1", "p/A$1Local", "p/A$1$Local", "p/A$12Local$Inner",
+		"p/A$1Local$1", "p/A$1$1", "p/A$B$2Local", "p/A$$1", "p/A$1_x", "p/A$1$", "p/A$", "$1A",
+		"p/A$1Local$2Other", "p/A$B1", "p/A$10", "p/A$10Local2"
+	};
+
+	@Test
+	public void testEquivalenceWithRegularExpressions() {
+		List<String> names = new ArrayList<>(List.of(FLAT_NAMES));
+		Random random = new Random(0);
+		String alphabet = "$$$0123456789AbZ_x/.";
+		for (int i = 0; i < 20_000; i++) {
+			StringBuilder name = new StringBuilder();
+			for (int j = random.nextInt(14); j > 0; j--) {
+				name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			names.add(name.toString());
+		}
+		for (String name : names) {
+			int position = random.nextInt(500);
+			assertEquals(name,
+				name.replaceFirst("\\$([0-9]+)([A-Za-z$_][A-Za-z$_0-9]*)", "\\$$1\\$$2").replaceFirst("\\$\\$", "\\$"),
+				BindingKeyNames.separateLocalIndex(name));
+			assertEquals(name,
+				name.replaceFirst("\\$([0-9]+)([A-Za-z$_][A-Za-z$_0-9]*)", "\\$$1").replaceFirst("\\$([0-9]+)", "\\$" + position),
+				BindingKeyNames.anonymousName(name, position));
+			String local = name.replaceFirst("\\$([0-9]+)\\$.*", "\\$" + position + "\\$Local");
+			if (local.equals(name)) {
+				local = name.replaceFirst("\\$([0-9]+)", "\\$" + position);
+			}
+			assertEquals(name, local, BindingKeyNames.localName(name, position, "Local"));
+			assertEquals(name, name.replaceAll("([0-9]+).*", "$1"), BindingKeyNames.occurrenceIndex(name));
+		}
+	}
+}
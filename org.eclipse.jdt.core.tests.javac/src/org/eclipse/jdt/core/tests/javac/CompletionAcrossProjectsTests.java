@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2025, Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.javac;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.tests.model.AbstractJavaModelTests;
+import org.eclipse.jdt.core.tests.model.CompletionTestsRequestor2;
+import org.junit.Test;
+
+/**
+ * Completion in a project, of the changes of the projects it requires.
+ */
+public class CompletionAcrossProjectsTests extends AbstractJavaModelTests {
+
+	public CompletionAcrossProjectsTests() {
+		super(CompletionAcrossProjectsTests.class.getName());
+	}
+
+	@Test
+	public void testTypeAddedToRequiredProject() throws Exception {
+		try {
+			IJavaProject required = createJava21Project("Required");
+			IJavaProject dependent = createJava21Project("Dependent");
+			IClasspathEntry[] classpath = dependent.getRawClasspath();
+			IClasspathEntry[] newClasspath = new IClasspathEntry[classpath.length + 1];
+			System.arraycopy(classpath, 0, newClasspath, 0, classpath.length);
+			newClasspath[classpath.length] = JavaCore.newProjectEntry(required.getPath());
+			dependent.setRawClasspath(newClasspath, new NullProgressMonitor());
+
+			createFolder("Required/src/p");
+			createFile("Required/src/p/RequiredFirst.java", """
+				package p;
+				public class RequiredFirst {
+				}
+				""");
+			createFile("Dependent/src/Use.java", """
+				public class Use {
+					void use() {
+						Required
+					}
+				}
+				""");
+			ICompilationUnit unit = getCompilationUnit("Dependent/src/Use.java");
+			String completeBehind = "Required";
+			int cursorLocation = unit.getSource().lastIndexOf(completeBehind) + completeBehind.length();
+			// the type names visible from the dependent project are indexed by a first completion
+			String proposals = complete(unit, cursorLocation);
+			assertTrue(proposals, proposals.contains("RequiredFirst[TYPE_REF]"));
+			assertFalse(proposals, proposals.contains("RequiredSecond"));
+			JobHelpers.waitForJobsToComplete();
+
+			createFile("Required/src/p/RequiredSecond.java", """
+				package p;
+				public class RequiredSecond {
+				}
+				""");
+			proposals = complete(unit, cursorLocation);
+			assertTrue(proposals, proposals.contains("RequiredSecond[TYPE_REF]"));
+		} finally {
+			deleteProject("Dependent");
+			deleteProject("Required");
+		}
+	}
+
+	private static String complete(ICompilationUnit unit, int cursorLocation) throws Exception {
+		CompletionTestsRequestor2 requestor = new CompletionTestsRequestor2(false, false, true);
+		unit.codeComplete(cursorLocation, requestor, new NullProgressMonitor());
+		return requestor.getResults();
+	}
+}
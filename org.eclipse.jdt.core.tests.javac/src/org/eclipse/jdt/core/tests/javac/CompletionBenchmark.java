@@ -0,0 +1,383 @@
+/*******************************************************************************
+ * Copyright (c) 2025, Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.javac;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.CompletionProposal;
+import org.eclipse.jdt.core.CompletionRequestor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Measures the latency of completion on a generated project, to compare the performance of
+ * the completion engine before and after a change.
+ *
+ * The project is generated offline when the benchmark starts: <code>types</code> source types,
+ * organized in hierarchies <code>depth</code> levels deep, a few annotation types, and a jar
+ * of <code>jarTypes</code> types compiled with the system compiler. Each scenario is completed
+ * <code>iterations</code> times:
+ * <ul>
+ * <li>cold, after closing and reopening the project, so that the java model and the completion
+ * caches are empty; the search indexes stay on disk and are reused,</li>
+ * <li>warm, repeatedly in the same working copy.</li>
+ * </ul>
+ * Completion runs in the primary working copy of the unit, as in the editor.
+ * The results are the p50/p95/p99 latencies and the bytes allocated by the requesting thread.
+ * See {@link BenchmarkSupport} for running it and setting the parameters.
+ */
+public class CompletionBenchmark {
+
+	private static final String BENCHMARK = "completionBenchmark";
+	private static final int TYPES = BenchmarkSupport.parameter(BENCHMARK, "types", 2000);
+	private static final int DEPTH = BenchmarkSupport.parameter(BENCHMARK, "depth", 20);
+	private static final int JAR_TYPES = BenchmarkSupport.parameter(BENCHMARK, "jarTypes", 5000);
+	private static final int ITERATIONS = BenchmarkSupport.parameter(BENCHMARK, "iterations", 30);
+	private static final int TYPES_PER_PACKAGE = 100;
+	private static final int ANNOTATIONS = 20;
+	private static final String CURSOR = "|";
+
+	private static IJavaProject PROJECT;
+
+	private record Scenario(String name, String source, String[] favoriteReferences) {
+	}
+
+	private record Result(String scenario, String mode, long[] nanos, long[] allocatedBytes, int proposals) {
+	}
+
+	@BeforeClass
+	public static void setupClass() throws Exception {
+		PROJECT = generateProject("CompletionBenchmark");
+		JobHelpers.waitForJobsToComplete(new NullProgressMonitor());
+		JobHelpers.waitUntilIndexesReady();
+	}
+
+	@AfterClass
+	public static void tearDownClass() throws CoreException {
+		if (PROJECT != null) {
+			PROJECT.getProject().delete(true, true, null);
+		}
+	}
+
+	@Test
+	public void benchmark() throws Exception {
+		List<Result> results = new ArrayList<>();
+		for (Scenario scenario : scenarios()) {
+			results.add(run(scenario, true));
+			results.add(run(scenario, false));
+		}
+		BenchmarkSupport.report(BENCHMARK, toResults(results));
+		for (Result result : results) {
+			assertTrue("no proposal for " + result.scenario(), result.proposals() > 0);
+		}
+	}
+
+	private static List<Scenario> scenarios() {
+		return List.of(
+			new Scenario("memberAccess", """
+				package bench;
+				public class Scenario {
+					void m(%s t) {
+						t.method|
+					}
+				}
+				""".formatted(qualifiedTypeName(DEPTH - 1)), null),
+			new Scenario("constructor", """
+				package bench;
+				public class Scenario {
+					void m() {
+						Object o = new Type1|
+					}
+				}
+				""", null),
+			new Scenario("staticImportFavorites", """
+				package bench;
+				public class Scenario {
+					void m() {
+						createLib|
+					}
+				}
+				""", Stream.of(0, 1, 2, 3).map(i -> "lib.q" + i + ".LibType" + (i * TYPES_PER_PACKAGE) + ".*").toArray(String[]::new)),
+			new Scenario("annotation", """
+				package bench;
+				public class Scenario {
+					@BenchAnnotation|
+					void m() {
+					}
+				}
+				""", null),
+			new Scenario("javadoc", """
+				package bench;
+				public class Scenario {
+					/**
+					 * {@link LibType1|
+					 */
+					void m() {
+					}
+				}
+				""", null));
+	}
+
+	private static Result run(Scenario scenario, boolean cold) throws Exception {
+		String source = scenario.source().replace(CURSOR, "");
+		int offset = scenario.source().indexOf(CURSOR);
+		long[] nanos = new long[ITERATIONS];
+		long[] allocatedBytes = new long[ITERATIONS];
+		int proposals = 0;
+		ICompilationUnit unit = null;
+		try {
+			for (int i = 0; i < ITERATIONS; i++) {
+				if (cold || unit == null) {
+					if (unit != null) {
+						unit.discardWorkingCopy();
+					}
+					if (cold) {
+						clearCaches();
+					}
+					unit = JavaCore.createCompilationUnitFrom(PROJECT.getProject().getFile("src/bench/Scenario.java"));
+					unit.becomeWorkingCopy(null);
+					unit.getBuffer().setContents(source);
+					unit.makeConsistent(null);
+				}
+				CountingRequestor requestor = new CountingRequestor();
+				if (scenario.favoriteReferences() != null) {
+					requestor.setFavoriteReferences(scenario.favoriteReferences());
+				}
+				long allocatedBefore = allocatedBytes();
+				long start = System.nanoTime();
+				unit.codeComplete(offset, requestor, new NullProgressMonitor());
+				nanos[i] = System.nanoTime() - start;
+				allocatedBytes[i] = allocatedBytes() - allocatedBefore;
+				proposals = requestor.count;
+			}
+		} finally {
+			if (unit != null) {
+				unit.discardWorkingCopy();
+			}
+		}
+		return new Result(scenario.name(), cold ? "cold" : "warm", nanos, allocatedBytes, proposals);
+	}
+
+	/**
+	 * Closes and reopens the project: the java model and the completion caches drop everything
+	 * they know of it, while the indexes, on disk, are reused once ready again.
+	 */
+	private static void clearCaches() throws Exception {
+		IProject project = PROJECT.getProject();
+		project.close(null);
+		project.open(null);
+		JobHelpers.waitForJobsToComplete(new NullProgressMonitor());
+		JobHelpers.waitUntilIndexesReady();
+	}
+
+	private static final class CountingRequestor extends CompletionRequestor {
+		int count;
+
+		@Override
+		public void accept(CompletionProposal proposal) {
+			this.count++;
+		}
+	}
+
+	/**
+	 * @return the bytes allocated so far by the current thread, or -1 if the VM can't tell
+	 */
+	private static long allocatedBytes() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean
+			&& threadBean.isThreadAllocatedMemoryEnabled()) {
+			return threadBean.getCurrentThreadAllocatedBytes();
+		}
+		return -1;
+	}
+
+	private static long percentile(long[] values, int percentile) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	private static Map<String, Object> toResults(List<Result> results) {
+		List<Map<String, Object>> scenarios = new ArrayList<>();
+		for (Result result : results) {
+			Map<String, Object> scenario = new LinkedHashMap<>();
+			scenario.put("scenario", result.scenario());
+			scenario.put("mode", result.mode());
+			scenario.put("proposals", result.proposals());
+			for (int p : new int[] { 50, 95, 99 }) {
+				scenario.put("p" + p + "Millis", percentile(result.nanos(), p) / 1_000_000.0);
+			}
+			for (int p : new int[] { 50, 95, 99 }) {
+				scenario.put("p" + p + "AllocatedBytes", percentile(result.allocatedBytes(), p));
+			}
+			scenarios.add(scenario);
+		}
+		Map<String, Object> res = new LinkedHashMap<>();
+		res.put("types", TYPES);
+		res.put("depth", DEPTH);
+		res.put("jarTypes", JAR_TYPES);
+		res.put("iterations", ITERATIONS);
+		res.put("results", scenarios);
+		return res;
+	}
+
+	private static String typeName(int index) {
+		return "Type" + index;
+	}
+
+	private static String packageName(int index) {
+		return "bench.p" + (index / TYPES_PER_PACKAGE);
+	}
+
+	private static String qualifiedTypeName(int index) {
+		return packageName(index) + '.' + typeName(index);
+	}
+
+	private static IJavaProject generateProject(String name) throws Exception {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+		if (project.exists()) {
+			project.delete(true, true, null);
+		}
+		project.create(null);
+		project.open(null);
+		IProjectDescription description = project.getDescription();
+		description.setNatureIds(new String[] { JavaCore.NATURE_ID });
+		project.setDescription(description, null);
+
+		Path location = project.getLocation().toPath();
+		Path src = location.resolve("src");
+		for (int i = 0; i < TYPES; i++) {
+			// every DEPTH types start a new hierarchy
+			String superType = i % DEPTH == 0 ? "" : " extends " + qualifiedTypeName(i - 1);
+			write(src, packageName(i), typeName(i), """
+				package %s;
+				/**
+				 * Generated type %d.
+				 */
+				public class %s%s {
+					public int field%d;
+					public %s() {
+					}
+					public String method%d(int value) {
+						return String.valueOf(value + field%d);
+					}
+					public static %s create%d() {
+						return new %s();
+					}
+				}
+				""".formatted(packageName(i), i, typeName(i), superType, i, typeName(i), i, i, typeName(i), i, typeName(i)));
+		}
+		for (int i = 0; i < ANNOTATIONS; i++) {
+			write(src, "bench", "BenchAnnotation" + i, """
+				package bench;
+				public @interface BenchAnnotation%d {
+					String value() default "";
+				}
+				""".formatted(i));
+		}
+		write(src, "bench", "Scenario", """
+			package bench;
+			public class Scenario {
+			}
+			""");
+		Path jar = generateJar(location.resolve("lib"));
+		project.refreshLocal(IResource.DEPTH_INFINITE, null);
+
+		IJavaProject javaProject = JavaCore.create(project);
+		javaProject.setRawClasspath(new IClasspathEntry[] {
+				JavaCore.newSourceEntry(project.getFullPath().append("src")),
+				JavaCore.newContainerEntry(IPath.fromPortableString("org.eclipse.jdt.launching.JRE_CONTAINER")),
+				JavaCore.newLibraryEntry(IPath.fromOSString(jar.toString()), null, null) },
+			project.getFullPath().append("bin"), null);
+		javaProject.setOption(JavaCore.COMPILER_COMPLIANCE, "21");
+		javaProject.setOption(JavaCore.COMPILER_SOURCE, "21");
+		javaProject.setOption(JavaCore.COMPILER_RELEASE, "21");
+		javaProject.setOption(JavaCore.COMPILER_CODEGEN_TARGET_PLATFORM, "21");
+		javaProject.open(new NullProgressMonitor());
+		return javaProject;
+	}
+
+	/**
+	 * @return a jar of {@link #JAR_TYPES} generated types, compiled with the system compiler
+	 */
+	private static Path generateJar(Path directory) throws IOException {
+		Path src = directory.resolve("src");
+		Path classes = directory.resolve("classes");
+		List<String> arguments = new ArrayList<>(List.of("--release", "21", "-d", classes.toString()));
+		for (int i = 0; i < JAR_TYPES; i++) {
+			String packageName = "lib.q" + (i / TYPES_PER_PACKAGE);
+			arguments.add(write(src, packageName, "LibType" + i, """
+				package %s;
+				public class LibType%d {
+					public static LibType%d createLib%d() {
+						return new LibType%d();
+					}
+					public static int constant%d() {
+						return %d;
+					}
+					public String describe() {
+						return "LibType%d";
+					}
+				}
+				""".formatted(packageName, i, i, i, i, i, i, i)).toString());
+		}
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertTrue("a JDK is needed to generate the jar", compiler != null);
+		assertEquals(0, compiler.run(null, null, null, arguments.toArray(String[]::new)));
+		Path jar = directory.resolve("lib.jar");
+		try (OutputStream output = Files.newOutputStream(jar);
+				JarOutputStream jarOutput = new JarOutputStream(output);
+				Stream<Path> classFiles = Files.walk(classes)) {
+			for (Path classFile : classFiles.filter(Files::isRegularFile).sorted().toList()) {
+				jarOutput.putNextEntry(new JarEntry(classes.relativize(classFile).toString().replace('\\', '/')));
+				jarOutput.write(Files.readAllBytes(classFile));
+				jarOutput.closeEntry();
+			}
+		}
+		return jar;
+	}
+
+	private static Path write(Path sourceFolder, String packageName, String typeName, String content) throws IOException {
+		Path file = sourceFolder.resolve(packageName.replace('.', '/')).resolve(typeName + ".java");
+		Files.createDirectories(file.getParent());
+		return Files.writeString(file, content);
+	}
+}
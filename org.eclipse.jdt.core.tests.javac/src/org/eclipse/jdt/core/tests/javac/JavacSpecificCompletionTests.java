@@ -15,6 +15,7 @@ import static org.junit.Assert.assertTrue;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.List;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
@@ -46,6 +47,11 @@ import org.junit.Test;
  */
 public class JavacSpecificCompletionTests {
 
+	/**
+	 * Same as <code>DOMTopCandidates.MAX_CANDIDATES_PROPERTY</code>
+	 */
+	private static final String MAX_CANDIDATES_PROPERTY = "org.eclipse.jdt.core.javac.completion.maxCandidates";
+
 	private static IJavaProject COMPLETION_PROJECT = null;
 	private static WorkingCopyOwner WC_OWNER = new WorkingCopyOwner() {
 	};
@@ -1030,4 +1036,139 @@ public class JavacSpecificCompletionTests {
 				useRequiresDirective[METHOD_REF]{useRequiresDirective(), LHelloWorld;, (LHelloWorld$RequiresDirective;)Z, useRequiresDirective, [168, 171], 21}""", requestor.getResults());
 	}
 
+	@Test
+	public void testLimitedTypeCandidatesKeepBestProposals() throws Exception {
+		this.workingCopies = new ICompilationUnit[1];
+		this.workingCopies[0] = getWorkingCopy("HelloWorld.java",
+			"""
+			public class HelloWorld {
+				public void myMethod() {
+					Str
+				}
+			}
+			""");
+		String str = this.workingCopies[0].getSource();
+		String completeBehind = "Str";
+		int cursorLocation = str.lastIndexOf(completeBehind) + completeBehind.length();
+
+		List<String> all = typeProposals(cursorLocation);
+		int limit = 3;
+		assertTrue("not enough types to limit: " + all, all.size() > limit);
+		List<String> limited;
+		String initialValue = System.getProperty(MAX_CANDIDATES_PROPERTY);
+		System.setProperty(MAX_CANDIDATES_PROPERTY, Integer.toString(limit));
+		try {
+			limited = typeProposals(cursorLocation);
+		} finally {
+			if (initialValue == null) {
+				System.clearProperty(MAX_CANDIDATES_PROPERTY);
+			} else {
+				System.setProperty(MAX_CANDIDATES_PROPERTY, initialValue);
+			}
+		}
+
+		// same proposals (and relevance) as without limit, in the same order
+		Assert.assertEquals(limit, limited.size());
+		Assert.assertEquals(all.stream().filter(limited::contains).toList(), limited);
+		// and no proposal more relevant than the kept ones was dropped
+		int lowestKept = limited.stream().mapToInt(JavacSpecificCompletionTests::relevance).min().getAsInt();
+		for (String proposal : all) {
+			assertTrue("dropped " + proposal + " but kept " + limited, relevance(proposal) <= lowestKept || limited.contains(proposal));
+		}
+	}
+
+	@Test
+	public void testAnnotationNameWithIgnoredTypes() throws Exception {
+		this.workingCopies = new ICompilationUnit[1];
+		this.workingCopies[0] = getWorkingCopy("HelloWorld.java",
+			"""
+			public class HelloWorld {
+				@Overr
+				public String toString() {
+					return "";
+				}
+			}
+			""");
+		String str = this.workingCopies[0].getSource();
+		String completeBehind = "@Overr";
+		int cursorLocation = str.lastIndexOf(completeBehind) + completeBehind.length();
+
+		CompletionTestsRequestor2 requestor = new CompletionTestsRequestor2();
+		this.workingCopies[0].codeComplete(cursorLocation, requestor, WC_OWNER, new NullProgressMonitor());
+		assertTrue(requestor.getResults(), requestor.getResults().contains("Override[TYPE_REF]"));
+
+		// only types can be proposed for an annotation name
+		requestor = new CompletionTestsRequestor2();
+		requestor.setIgnored(CompletionProposal.TYPE_REF, true);
+		requestor.setIgnored(CompletionProposal.KEYWORD, true);
+		this.workingCopies[0].codeComplete(cursorLocation, requestor, WC_OWNER, new NullProgressMonitor());
+		assertEquals("", requestor.getResults());
+	}
+
+	@Test
+	public void testSessionAfterEditsInAndOutsideOfBody() throws Exception {
+		this.workingCopies = new ICompilationUnit[1];
+		this.workingCopies[0] = getWorkingCopy("HelloWorld.java",
+			"""
+			public class HelloWorld {
+				int fieldOne;
+				void m() {
+					fie
+				}
+			}
+			""");
+		String results = completeBehind("fie");
+		assertTrue(results, results.contains("fieldOne[FIELD_REF]"));
+
+		// edit of the body only, the members of the previous request can be reused
+		this.workingCopies[0].getBuffer().setContents(
+			"""
+			public class HelloWorld {
+				int fieldOne;
+				void m() {
+					int local = 0;
+					fiel
+				}
+			}
+			""");
+		this.workingCopies[0].reconcile(ICompilationUnit.NO_AST, false, WC_OWNER, null);
+		results = completeBehind("fiel");
+		assertTrue(results, results.contains("fieldOne[FIELD_REF]"));
+
+		// edit outside of the body, the members must be computed again
+		this.workingCopies[0].getBuffer().setContents(
+			"""
+			public class HelloWorld {
+				int fieldOne;
+				int fieldTwo;
+				void m() {
+					int local = 0;
+					fiel
+				}
+			}
+			""");
+		this.workingCopies[0].reconcile(ICompilationUnit.NO_AST, false, WC_OWNER, null);
+		results = completeBehind("fiel");
+		assertTrue(results, results.contains("fieldOne[FIELD_REF]"));
+		assertTrue(results, results.contains("fieldTwo[FIELD_REF]"));
+	}
+
+	private String completeBehind(String completeBehind) throws JavaModelException {
+		String str = this.workingCopies[0].getSource();
+		int cursorLocation = str.lastIndexOf(completeBehind) + completeBehind.length();
+		CompletionTestsRequestor2 requestor = new CompletionTestsRequestor2();
+		this.workingCopies[0].codeComplete(cursorLocation, requestor, WC_OWNER, new NullProgressMonitor());
+		return requestor.getResults();
+	}
+
+	private List<String> typeProposals(int cursorLocation) throws JavaModelException {
+		CompletionTestsRequestor2 requestor = new CompletionTestsRequestor2(false, false, true);
+		this.workingCopies[0].codeComplete(cursorLocation, requestor, WC_OWNER, new NullProgressMonitor());
+		return requestor.getResults().lines().filter(line -> line.contains("[TYPE_REF]")).toList();
+	}
+
+	private static int relevance(String proposal) {
+		return Integer.parseInt(proposal.substring(proposal.lastIndexOf(", ") + 2, proposal.lastIndexOf('}')));
+	}
+
 }
@@ -14,15 +14,26 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.FileASTRequestor;
+import org.eclipse.jdt.core.dom.IMethodBinding;
 import org.eclipse.jdt.core.dom.Javadoc;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.MethodInvocation;
 import org.eclipse.jdt.core.dom.ModuleDeclaration;
 import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.TagElement;
@@ -111,4 +122,70 @@ public class JavacSpecificConverterTests {
 		assertEquals("LA;.m()Ljava/util/List<Ljava/util/List<+Ljava/lang/String;>;>;", meth.resolveBinding().getKey());
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testLazyAttributionOfBatch() throws Exception {
+		Path dir = Files.createTempDirectory(getClass().getName());
+		Path a = dir.resolve("A.java");
+		Files.writeString(a, """
+				class A {
+					B b;
+					int m() {
+						String s = 1;
+						return b.n();
+					}
+				}
+				""");
+		Path b = dir.resolve("B.java");
+		Files.writeString(b, """
+				class B {
+					A a;
+					int n() {
+						String s = 1;
+						return a.m();
+					}
+				}
+				""");
+		Map<String, CompilationUnit> units = new HashMap<>();
+		String previous = System.setProperty("org.eclipse.jdt.core.javac.lazyAttribution", Boolean.TRUE.toString());
+		try {
+			ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+			parser.setEnvironment(null, new String[] { dir.toString() }, null, true);
+			parser.setResolveBindings(true);
+			parser.createASTs(new String[] { a.toString(), b.toString() }, null, new String[0], new FileASTRequestor() {
+				@Override
+				public void acceptAST(String sourceFilePath, CompilationUnit ast) {
+					units.put(sourceFilePath, ast);
+				}
+			}, new NullProgressMonitor());
+		} finally {
+			if (previous == null) {
+				System.clearProperty("org.eclipse.jdt.core.javac.lazyAttribution");
+			} else {
+				System.setProperty("org.eclipse.jdt.core.javac.lazyAttribution", previous);
+			}
+		}
+		// not attributed yet: the type mismatches are not reported
+		assertEquals(0, errorCount(units.get(a.toString())));
+		assertEquals(0, errorCount(units.get(b.toString())));
+		// each unit is attributed on its own, in any order
+		for (Path path : List.of(b, a)) {
+			CompilationUnit unit = units.get(path.toString());
+			String invoked = path == a ? "n" : "m";
+			String source = Files.readString(path);
+			MethodInvocation invocation = (MethodInvocation)NodeFinder.perform(unit, source.indexOf(invoked + "()"), 0).getParent();
+			IMethodBinding binding = invocation.resolveMethodBinding();
+			assertEquals(invoked, binding.getName());
+			assertEquals(path == a ? "B" : "A", binding.getDeclaringClass().getName());
+			assertEquals(1, errorCount(unit));
+			if (path == b) {
+				// A is still not attributed
+				assertEquals(0, errorCount(units.get(a.toString())));
+			}
+		}
+	}
+
+	private static long errorCount(CompilationUnit unit) {
+		return Arrays.stream(unit.getProblems()).filter(IProblem::isError).count();
+	}
+
+}